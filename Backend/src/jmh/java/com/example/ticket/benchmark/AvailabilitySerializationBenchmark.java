@@ -0,0 +1,41 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.service.AvailabilityBroadcaster;
+import com.example.ticket.util.BinaryFrames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing one availability update, compared with the original String.format version
+ * and the binary frame sent to clients that negotiated it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AvailabilitySerializationBenchmark {
+
+    private int totalTickets = 100_000;
+    private int availableTickets = 4_321;
+    private long sequence = 1;
+
+    @Benchmark
+    public String current() {
+        return AvailabilityBroadcaster.toJson(totalTickets, availableTickets);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format("{\"totalTickets\": %d, \"availableTickets\": %d}", totalTickets, availableTickets);
+    }
+
+    @Benchmark
+    public byte[] binary() {
+        return BinaryFrames.availability("default", sequence++, totalTickets, availableTickets);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.controller.WebSocketController;
+import com.example.ticket.service.LogOverflowPolicy;
+import com.example.ticket.service.LogService;
+import com.example.ticket.service.TicketStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer-side cost of {@link LogService#addLog(String)} with the WebSocket fan-out stubbed out
+ * and console output disabled, for each overflow policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LogServiceBenchmark {
+
+    @Param({"DROP", "SAMPLE", "BLOCK"})
+    public LogOverflowPolicy overflowPolicy;
+
+    private LogService logService;
+
+    @Setup
+    public void setUp() {
+        WebSocketController stub = new WebSocketController(null, null) {
+            @Override
+            public void sendLogUpdate(String topic, String message) {
+            }
+
+            @Override
+            public void sendPayload(String topic, Object payload) {
+            }
+
+            @Override
+            public void sendLogBatch(String topic, long firstSequence, List<String> entries, Object jsonPayload) {
+            }
+        };
+        logService = new LogService(stub, new TicketStream(null, 1, 0, 0), 8192, overflowPolicy, 10, 256, 10, 1000, 0, false);
+        logService.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        logService.shutdown();
+    }
+
+    @Benchmark
+    public void addLog() {
+        logService.addLog("Customer 42 bought a ticket. Available tickets: 17");
+    }
+}
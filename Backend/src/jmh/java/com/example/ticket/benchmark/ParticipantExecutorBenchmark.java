@@ -0,0 +1,94 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.model.TicketPoolMode;
+import com.example.ticket.service.ArrivalDistribution;
+import com.example.ticket.service.ExecutionMode;
+import com.example.ticket.service.LoadGenerator;
+import com.example.ticket.service.ParticipantExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost of one short simulation run per {@link ExecutionMode}: acquire the participant executor, let the
+ * {@link LoadGenerator} complete {@value #OPERATIONS} pool operations, then stop and drain it, as a
+ * start/stop cycle of an event does. {@code reuse=true} keeps one warm {@link ParticipantExecutor} across
+ * runs like a restarted event; {@code false} builds and closes a new one every run, like a newly loaded event.
+ * Compare memory with {@code -prof gc}, e.g.
+ * {@code -Djmh.args="ParticipantExecutor -p participants=10000 -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParticipantExecutorBenchmark {
+    private static final int OPERATIONS = 1_000; // Pool operations completed per run
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode mode;
+
+    @Param({"100", "1000"})
+    public int participants;
+
+    @Param({"true", "false"})
+    public boolean reuse;
+
+    private final LongAdder completed = new LongAdder(); // Operations that reached the pool
+    private TicketPool pool;
+    private ParticipantExecutor executor;
+    private LoadGenerator.Profile profile;
+
+    @Setup
+    public void setUp() {
+        pool = TicketPoolMode.ATOMIC.create(1_000_000, 100_000, 0, 0, new TicketPoolListener() {
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                completed.increment();
+            }
+
+            @Override
+            public void onTicketBought(TicketPool pool, int customerId, int available) {
+                completed.increment();
+            }
+        });
+        pool.start();
+        executor = new ParticipantExecutor(mode, TimeUnit.MINUTES.toMillis(1));
+        profile = new LoadGenerator.Profile(ArrivalDistribution.CONSTANT, 42, 1, 50_000, 50_000, participants);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public LoadGenerator.Report run() {
+        int vendors = participants / 2;
+        ExecutorService threads = executor.acquire(participants);
+        LoadGenerator generator = new LoadGenerator("benchmark-load", pool, null, threads, profile,
+                vendors, participants - vendors);
+        long target = completed.sum() + OPERATIONS;
+        generator.start();
+        while (completed.sum() < target) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        LoadGenerator.Report report = generator.stop();
+        generator.awaitIdle(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+        if (!reuse) {
+            executor.close(); // The next run builds a new executor
+        }
+        return report;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.controller.WebSocketController;
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.model.TicketPoolMode;
+import com.example.ticket.service.AvailabilityBroadcaster;
+import com.example.ticket.service.LogOverflowPolicy;
+import com.example.ticket.service.LogService;
+import com.example.ticket.service.TicketEventPublisher;
+import com.example.ticket.service.TicketStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Garbage produced per pool operation by the logging listener: TEXT builds every log line on the pool thread
+ * as the publisher used to, EVENT is the current {@link TicketEventPublisher} recording structured events.
+ * Run with the GC profiler and compare {@code gc.alloc.rate.norm} (bytes/op), e.g.
+ * {@code -Djmh.args="PoolLoggingAllocation -prof gc"}.
+ * <p>
+ * The log consumer is not started, so only the pool thread's allocations are measured; once the queue is
+ * full entries are dropped, as under overload with the DROP policy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PoolLoggingAllocationBenchmark {
+
+    @Param({"TEXT", "EVENT"})
+    public String logging;
+
+    private AvailabilityBroadcaster broadcaster;
+    private TicketPool pool;
+
+    @Setup
+    public void setUp() {
+        WebSocketController stub = new WebSocketController(null, null) {
+            @Override
+            public void sendAvailability(String topic, String eventId, long sequence, int total, int available) {
+            }
+        };
+        TicketStream stream = new TicketStream(null, 1, 0, 0);
+        LogService logService = new LogService(stub, stream, 8192, LogOverflowPolicy.DROP, 10, 256, 10, 1000, 0, false);
+        broadcaster = new AvailabilityBroadcaster(stub, stream, 50);
+        AvailabilityBroadcaster.Channel channel = broadcaster.channel("/topic/benchmark", "benchmark");
+        String prefix = "[benchmark] ";
+        TicketPoolListener listener = logging.equals("TEXT") ? new TicketPoolListener() {
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                logService.addLog(prefix + "Vendor " + vendorId + " added " + ticketsAdded
+                        + " tickets. Available tickets: " + available);
+                channel.changed(pool, available == ticketsAdded);
+            }
+
+            @Override
+            public void onTicketBought(TicketPool pool, int customerId, int available) {
+                logService.addLog(prefix + "Customer " + customerId + " bought a ticket. Available tickets: " + available);
+                channel.changed(pool, available == 0);
+            }
+        } : new TicketEventPublisher(logService, channel, prefix);
+        pool = TicketPoolMode.ATOMIC.create(1_000_000, 100_000, 0, 0, listener);
+        pool.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Benchmark
+    public boolean buyTicket() {
+        if (pool.buyTicket(42)) {
+            return true;
+        }
+        return pool.addMultipleTickets(100_000, 7); // Restock once drained
+    }
+
+    @Benchmark
+    public boolean addTicket() {
+        if (pool.addTicket(7)) {
+            return true;
+        }
+        for (int i = 0; i < 1_000; i++) {
+            pool.buyTicket(42); // Make room once full
+        }
+        return false;
+    }
+}
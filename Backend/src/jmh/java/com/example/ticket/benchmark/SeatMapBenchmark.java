@@ -0,0 +1,45 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.model.SeatMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the best-available search for adjacent seats in a 100,000-seat venue that is already 70%
+ * sold in scattered single seats. Every iteration starts from a freshly fragmented venue; once no block of
+ * the requested size is left, searches measure the worst case, a scan of the whole free-run index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SeatMapBenchmark {
+
+    @Param({"1", "4", "10"})
+    public int count;
+
+    private SeatMap seats;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        seats = new SeatMap(100_000, SeatMap.Layout.DEFAULT, 100_000);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 70_000; i++) {
+            seats.takeOne(random.nextInt()); // Scatter single sales over the best rows
+        }
+    }
+
+    @Benchmark
+    public int takeAdjacent() {
+        return seats.takeAdjacent(count);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.model.TicketPoolMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency distribution (SampleTime reports p99) of the pool hot paths for every pool mode.
+ * Each operation restocks or drains the pool when it hits a bound, so measurements stay on the success path.
+ * Vary the thread count with {@code -t}, e.g. {@code -Djmh.args="TicketPoolBenchmark -t 8"}.
+ * <p>
+ * {@code stripes} only applies to STRIPED; 0 is one stripe per core, as in production. To see how striping
+ * scales, sweep it on a machine with several cores, e.g.
+ * {@code -Djmh.args="TicketPoolBenchmark -p mode=STRIPED -p stripes=1,2,4,8 -t 8"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketPoolBenchmark {
+
+    @Param({"LOCKING", "ATOMIC", "STRIPED"})
+    public TicketPoolMode mode;
+
+    @Param({"0"})
+    public int stripes;
+
+    private TicketPool pool;
+
+    @Setup
+    public void setUp() {
+        pool = mode.create(1_000_000, 100_000, 0, 0, new TicketPoolListener() {
+        }, stripes);
+        pool.start();
+    }
+
+    @Benchmark
+    public boolean buyTicket() {
+        if (pool.buyTicket(1)) {
+            return true;
+        }
+        return pool.addMultipleTickets(1_000, 1); // Restock once drained
+    }
+
+    @Benchmark
+    public boolean addTicket() {
+        if (pool.addTicket(1)) {
+            return true;
+        }
+        return pool.buyTicket(1); // Make room once full
+    }
+
+    @Benchmark
+    public boolean addMultipleTickets() {
+        if (pool.addMultipleTickets(10, 1)) {
+            return true;
+        }
+        for (int i = 0; i < 10; i++) {
+            pool.buyTicket(1); // Make room once full
+        }
+        return false;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.ticket.config;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Negotiates the frame encoding of each STOMP session and tracks who is subscribed to what.
+ * <p>
+ * A client asks for the compact binary frames by sending {@code ticket-encoding:binary} in its CONNECT frame.
+ * This is only honoured on the native WebSocket endpoint, because SockJS carries text only; everyone else
+ * gets JSON. Subscriptions of binary sessions to a topic that has a binary variant are redirected to
+ * {@code topic + BINARY_SUFFIX}, so clients subscribe to the usual topic names either way. Subscriber counts
+ * per destination let publishers skip encodings nobody is listening to.
+ */
+@Component // Registered on the client inbound channel by WebSocketConfig
+public class StompEncodingInterceptor implements ChannelInterceptor, HandshakeInterceptor {
+    public static final String ENCODING_HEADER = "ticket-encoding"; // CONNECT header carrying the requested encoding
+    public static final String BINARY = "binary"; // Header value requesting binary frames
+    public static final String BINARY_SUFFIX = ".bin"; // Appended to a topic for its binary variant
+    private static final String BINARY_CAPABLE = "ticket.binaryCapable"; // Session attribute: native WebSocket
+    private static final String BINARY_SESSION = "ticket.binary"; // Session attribute: binary negotiated
+
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>(); // Session -> id -> destination
+    private final Map<String, AtomicInteger> subscribers = new ConcurrentHashMap<>(); // Subscriptions per destination
+    private final AtomicInteger patternSubscribers = new AtomicInteger(); // Subscriptions to destination patterns
+
+    /**
+     * Whether any session may currently be subscribed to the destination. Ant-style pattern subscriptions
+     * (e.g. every event's availability topic at once) are assumed to match every destination.
+     */
+    public boolean hasSubscribers(String destination) {
+        AtomicInteger count = subscribers.get(destination);
+        return count != null && count.get() > 0 || patternSubscribers.get() > 0;
+    }
+
+    /**
+     * Topics with a binary variant: availability topics and the log batch stream.
+     */
+    public static boolean hasBinaryVariant(String destination) {
+        return destination.endsWith("/ticketAvailability") || destination.equals("/topic/logBatches");
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(BINARY_CAPABLE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+        if (type == null) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        switch (type) {
+            case CONNECT -> {
+                Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(headers);
+                if (attributes != null && attributes.containsKey(BINARY_CAPABLE)
+                        && BINARY.equalsIgnoreCase(NativeMessageHeaderAccessor.getFirstNativeHeader(ENCODING_HEADER, headers))) {
+                    attributes.put(BINARY_SESSION, Boolean.TRUE);
+                }
+            }
+            case SUBSCRIBE -> {
+                String destination = SimpMessageHeaderAccessor.getDestination(headers);
+                if (destination == null) {
+                    return message;
+                }
+                Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(headers);
+                if (attributes != null && attributes.containsKey(BINARY_SESSION) && hasBinaryVariant(destination)) {
+                    destination = destination + BINARY_SUFFIX;
+                    StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                    accessor.setDestination(destination);
+                    message = MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+                }
+                subscribe(sessionId, SimpMessageHeaderAccessor.getSubscriptionId(headers), destination);
+            }
+            case UNSUBSCRIBE -> unsubscribe(sessionId, SimpMessageHeaderAccessor.getSubscriptionId(headers));
+            case DISCONNECT -> disconnect(sessionId);
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination) {
+        Map<String, String> session = subscriptions.computeIfAbsent(sessionId, id -> new HashMap<>());
+        synchronized (session) {
+            String previous = session.put(subscriptionId, destination);
+            if (previous != null) {
+                decrement(previous); // Subscription id reused without unsubscribing
+            }
+        }
+        // Increment inside the map operation so a concurrent last unsubscribe cannot remove the counter in between
+        subscribers.compute(destination, (d, count) -> {
+            AtomicInteger counter = count != null ? count : new AtomicInteger();
+            counter.incrementAndGet();
+            return counter;
+        });
+        if (isPattern(destination)) {
+            patternSubscribers.incrementAndGet();
+        }
+    }
+
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> session = subscriptions.get(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                String destination = session.remove(subscriptionId);
+                if (destination != null) {
+                    decrement(destination);
+                }
+            }
+        }
+    }
+
+    // Drops every subscription of a session; a session can be disconnected twice (DISCONNECT frame, then close)
+    private void disconnect(String sessionId) {
+        Map<String, String> session = subscriptions.remove(sessionId);
+        if (session != null) {
+            synchronized (session) {
+                session.values().forEach(this::decrement);
+                session.clear();
+            }
+        }
+    }
+
+    private void decrement(String destination) {
+        subscribers.computeIfPresent(destination, (d, count) -> count.decrementAndGet() > 0 ? count : null);
+        if (isPattern(destination)) {
+            patternSubscribers.decrementAndGet();
+        }
+    }
+
+    // The simple broker matches subscriptions as Ant-style patterns
+    private static boolean isPattern(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0;
+    }
+}
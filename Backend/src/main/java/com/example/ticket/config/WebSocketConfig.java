@@ -1,6 +1,7 @@
 package com.example.ticket.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -10,6 +11,12 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker // Enables WebSocket message handling with STOMP protocol
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompEncodingInterceptor encodingInterceptor; // Negotiates JSON or binary frames per session
+
+    public WebSocketConfig(StompEncodingInterceptor encodingInterceptor) {
+        this.encodingInterceptor = encodingInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Configures the message broker
@@ -23,5 +30,14 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/websocket") // Endpoint for WebSocket connections
                 .setAllowedOrigins("http://localhost:3000") // Allow connections from the specified origin
                 .withSockJS(); // Fallback to SockJS for browsers that don't support native WebSockets
+        // Plain WebSocket endpoint; the only one that can carry binary frames
+        registry.addEndpoint("/stomp")
+                .setAllowedOrigins("http://localhost:3000")
+                .addInterceptors(encodingInterceptor);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(encodingInterceptor); // Sees CONNECT, SUBSCRIBE and DISCONNECT frames
     }
 }
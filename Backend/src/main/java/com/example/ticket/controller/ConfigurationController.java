@@ -1,6 +1,7 @@
 package com.example.ticket.controller;
 
 import com.example.ticket.model.ConfigurationManager;
+import com.example.ticket.model.ConfigurationSnapshot;
 import com.example.ticket.service.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +49,21 @@ public class ConfigurationController {
         }
     }
 
+    /**
+     * The current configuration with its version, served from memory.
+     *
+     * @return ResponseEntity containing the current snapshot
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<ConfigurationSnapshot> getSnapshot() {
+        ConfigurationSnapshot snapshot = configurationService.getSnapshot();
+        if (snapshot != null) {
+            return ResponseEntity.ok(snapshot);
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Reset the configuration settings to default.
      *
@@ -0,0 +1,190 @@
+package com.example.ticket.controller;
+
+import com.example.ticket.controller.TicketController.BulkPurchaseRequest;
+import com.example.ticket.controller.TicketController.Reconfiguration;
+import com.example.ticket.controller.TicketController.TicketConfiguration;
+import com.example.ticket.controller.TicketController.TicketStats;
+import com.example.ticket.service.LoadGenerator;
+import com.example.ticket.service.LogService;
+import com.example.ticket.service.TicketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Endpoints for running many independently configured events side by side.
+ * Each event publishes its availability on {@code /topic/events/{eventId}/ticketAvailability}.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:3000") // Allow requests from localhost:3000 (frontend)
+@RequestMapping("/api/events") // Base URL for event-related endpoints
+public class EventController {
+
+    @Autowired
+    private TicketService ticketService; // Service holding the per-event pools
+
+    @Autowired
+    private LogService logService; // Service for logging system actions
+
+    @GetMapping
+    public ResponseEntity<List<EventStatus>> listEvents() {
+        List<EventStatus> events = new ArrayList<>();
+        for (String eventId : ticketService.getEventIds()) {
+            events.add(statusOf(eventId));
+        }
+        return ResponseEntity.ok(events);
+    }
+
+    @PutMapping("/{eventId}")
+    public ResponseEntity<String> registerEvent(@PathVariable String eventId, @RequestBody TicketConfiguration config) {
+        if (!config.isValid()) {
+            return ResponseEntity.badRequest().body("Invalid configuration provided.");
+        }
+        try {
+            ticketService.registerEvent(eventId, config.toSettings());
+            logService.addLog("[" + eventId + "] Configuration updated: " + config);
+            return ResponseEntity.ok("Event " + eventId + " configured successfully");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{eventId}")
+    public ResponseEntity<String> unregisterEvent(@PathVariable String eventId) {
+        if (!ticketService.unregisterEvent(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        logService.addLog("[" + eventId + "] Event removed");
+        return ResponseEntity.ok("Event " + eventId + " removed");
+    }
+
+    @PostMapping("/{eventId}/start")
+    public ResponseEntity<String> startEvent(@PathVariable String eventId) {
+        if (!ticketService.isEventRegistered(eventId)) {
+            return ResponseEntity.badRequest().body("Configuration not set");
+        }
+        if (ticketService.isEventRunning(eventId)) {
+            return ResponseEntity.badRequest().body("Event " + eventId + " is already running");
+        }
+        ticketService.startEvent(eventId);
+        return ResponseEntity.ok("Event " + eventId + " started successfully");
+    }
+
+    @PostMapping("/{eventId}/reconfigure")
+    public ResponseEntity<String> reconfigureEvent(@PathVariable String eventId, @RequestBody Reconfiguration request) {
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().body("Invalid configuration provided.");
+        }
+        try {
+            ticketService.reconfigureEvent(eventId, request.getTicketReleaseRate(), request.getCustomerRetrievalRate(),
+                    request.getMaxTicketCapacity());
+            logService.addLog("[" + eventId + "] Configuration updated: " + request);
+            return ResponseEntity.ok("Event " + eventId + " reconfigured successfully");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{eventId}/stop")
+    public ResponseEntity<String> stopEvent(@PathVariable String eventId) {
+        ticketService.stopEvent(eventId);
+        logService.addLog("[" + eventId + "] System stopped");
+        return ResponseEntity.ok("Event " + eventId + " stopped");
+    }
+
+    @PostMapping("/{eventId}/vendor/add")
+    public ResponseEntity<String> addTickets(@PathVariable String eventId,
+                                             @RequestParam int numberOfTickets, @RequestParam int vendorId) {
+        try {
+            ticketService.addTickets(eventId, numberOfTickets, vendorId); // Add tickets from a vendor
+            return ResponseEntity.ok("Vendor " + vendorId + " added " + numberOfTickets + " tickets successfully.");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{eventId}/purchase")
+    public ResponseEntity<?> purchaseTickets(@PathVariable String eventId, @RequestBody BulkPurchaseRequest request) {
+        return TicketController.purchase(ticketService, eventId, request);
+    }
+
+    @PostMapping("/{eventId}/seats")
+    public ResponseEntity<?> buySeats(@PathVariable String eventId, @RequestParam int customerId,
+                                      @RequestParam int count) {
+        return TicketController.seats(ticketService, eventId, customerId, count);
+    }
+
+    @PostMapping("/{eventId}/waiting-room")
+    public CompletableFuture<ResponseEntity<String>> joinWaitingRoom(@PathVariable String eventId,
+                                                                   @RequestParam int customerId,
+                                                                   @RequestParam(defaultValue = "0") int priority,
+                                                                   @RequestParam(defaultValue = "0") long waitMs) {
+        return TicketController.waitForAdmission(ticketService, eventId, customerId, priority, waitMs);
+    }
+
+    @GetMapping("/{eventId}/status")
+    public ResponseEntity<EventStatus> getEventStatus(@PathVariable String eventId) {
+        if (!ticketService.isEventRegistered(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(statusOf(eventId));
+    }
+
+    @GetMapping("/{eventId}/tickets")
+    public ResponseEntity<TicketStats> getTicketStats(@PathVariable String eventId) {
+        if (!ticketService.isEventRegistered(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new TicketStats(ticketService.getTotalTickets(eventId),
+                ticketService.getAvailableTickets(eventId)));
+    }
+
+    @GetMapping("/{eventId}/load-report")
+    public ResponseEntity<LoadGenerator.Report> getLoadReport(@PathVariable String eventId) {
+        LoadGenerator.Report report = ticketService.getLoadReport(eventId);
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    private EventStatus statusOf(String eventId) {
+        return new EventStatus(eventId, ticketService.isEventRunning(eventId) ? "running" : "stopped",
+                ticketService.isEventLoaded(eventId), TicketService.availabilityTopic(eventId));
+    }
+
+    // DTO describing one registered event
+    public static class EventStatus {
+        private final String eventId;
+        private final String status;
+        private final boolean loaded; // Whether the event's pool is currently in memory
+        private final String availabilityTopic;
+
+        public EventStatus(String eventId, String status, boolean loaded, String availabilityTopic) {
+            this.eventId = eventId;
+            this.status = status;
+            this.loaded = loaded;
+            this.availabilityTopic = availabilityTopic;
+        }
+
+        public String getEventId() {
+            return eventId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public boolean isLoaded() {
+            return loaded;
+        }
+
+        public String getAvailabilityTopic() {
+            return availabilityTopic;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ticket.controller;
+
+import com.example.ticket.service.ParticipantStats;
+import com.example.ticket.service.TicketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Per-vendor and per-customer statistics of an event; {@code eventId} defaults to the system's event.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:3000") // Allow requests from localhost:3000 (frontend)
+@RequestMapping("/api/participants") // Base URL for participant statistics
+public class ParticipantController {
+
+    private static final int MAX_TOP = 1000; // Upper bound for the top parameter
+
+    @Autowired
+    private ParticipantStats participantStats; // Counters recorded by the pool listener
+
+    @GetMapping
+    public ResponseEntity<ParticipantStats.Summary> getSummary(
+            @RequestParam(defaultValue = TicketService.DEFAULT_EVENT_ID) String eventId,
+            @RequestParam(defaultValue = "10") int top) {
+        // Participant counts plus the most active vendors and customers
+        return ResponseEntity.ok(participantStats.getSummary(eventId, Math.max(0, Math.min(top, MAX_TOP))));
+    }
+
+    @GetMapping("/vendors/{vendorId}")
+    public ResponseEntity<ParticipantStats.VendorStats> getVendor(
+            @PathVariable int vendorId, @RequestParam(defaultValue = TicketService.DEFAULT_EVENT_ID) String eventId) {
+        return ResponseEntity.ok(participantStats.getVendor(eventId, vendorId));
+    }
+
+    @GetMapping("/customers/{customerId}")
+    public ResponseEntity<ParticipantStats.CustomerStats> getCustomer(
+            @PathVariable int customerId, @RequestParam(defaultValue = TicketService.DEFAULT_EVENT_ID) String eventId) {
+        return ResponseEntity.ok(participantStats.getCustomer(eventId, customerId));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ticket.controller;
+
+import com.example.ticket.service.ReservationService;
+import com.example.ticket.service.ReservationService.Reservation;
+import com.example.ticket.service.TicketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Endpoints for checkout holds: reserve a ticket, then confirm or release it before it expires.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:3000") // Allow requests from localhost:3000 (frontend)
+@RequestMapping("/api/reservations") // Base URL for reservation-related endpoints
+public class ReservationController {
+
+    @Autowired
+    private ReservationService reservationService; // Service managing holds and their expiry
+
+    @PostMapping
+    public ResponseEntity<?> reserve(@RequestParam(defaultValue = TicketService.DEFAULT_EVENT_ID) String eventId,
+                                     @RequestParam int customerId,
+                                     @RequestParam(defaultValue = "0") long ttlMs) {
+        try {
+            return ResponseEntity.ok(reservationService.reserve(eventId, customerId, ttlMs));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<Reservation> getReservation(@PathVariable long reservationId) {
+        Reservation reservation = reservationService.getReservation(reservationId);
+        if (reservation == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(reservation);
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    public ResponseEntity<?> confirm(@PathVariable long reservationId) {
+        try {
+            return ResponseEntity.ok(reservationService.confirm(reservationId));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{reservationId}")
+    public ResponseEntity<?> release(@PathVariable long reservationId) {
+        try {
+            return ResponseEntity.ok(reservationService.release(reservationId));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ticket.controller;
+
+import com.example.ticket.service.TicketService;
+import com.example.ticket.service.TicketStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events endpoint for dashboards that only read: an event's status and availability,
+ * optionally with the log tail, pushed as they change.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:3000") // Allow requests from localhost:3000 (frontend)
+@RequestMapping("/api/stream") // Base URL for streaming endpoints
+public class StreamController {
+
+    @Autowired
+    private TicketService ticketService; // Service providing the state sent on connect
+
+    @Autowired
+    private TicketStream ticketStream; // Multicasts updates to every open stream
+
+    @GetMapping
+    public ResponseEntity<SseEmitter> stream(@RequestParam(defaultValue = TicketService.DEFAULT_EVENT_ID) String eventId,
+                                    @RequestParam(defaultValue = "true") boolean logs) {
+        if (!ticketService.isEventRegistered(eventId) && !TicketService.DEFAULT_EVENT_ID.equals(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(ticketStream.subscribe(eventId, logs, ticketService.isEventRunning(eventId),
+                    ticketService.getTotalTickets(eventId), ticketService.getAvailableTickets(eventId)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build(); // Subscriber limit reached
+        }
+    }
+}
@@ -1,46 +1,56 @@
 package com.example.ticket.controller;
 
+import com.example.ticket.model.ConfigurationManager;
+import com.example.ticket.model.ConfigurationSnapshot;
+import com.example.ticket.model.SimulationSettings;
+import com.example.ticket.service.ConfigurationService;
+import com.example.ticket.service.LoadGenerator;
 import com.example.ticket.service.LogService;
 import com.example.ticket.service.TicketService;
+import com.example.ticket.util.LogRingBuffer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000") // Allow requests from localhost:3000 (frontend)
 @RequestMapping("/api/ticket") // Base URL for ticket-related endpoints
 public class TicketController {
 
+    private static final int MAX_LOG_PAGE = 1000; // Upper bound for the limit parameter of /logs
+
     @Autowired
     private TicketService ticketService; // Service for ticket-related operations
 
     @Autowired
     private LogService logService; // Service for logging system actions
 
-    private TicketConfiguration currentConfiguration; // Stores the current system configuration
+    @Autowired
+    private ConfigurationService configurationService; // Holds the saved configuration as an in-memory snapshot
 
     @PostMapping("/configure")
     public ResponseEntity<String> saveConfiguration(@RequestBody TicketConfiguration config) {
         // Validate configuration
-        if (config.getTotalTickets() <= 0 ||
-                config.getTicketReleaseRate() <= 1000 ||
-                config.getCustomerRetrievalRate() <= 1000 ||
-                config.getMaxTicketCapacity() > config.getTotalTickets()) {
+        if (!config.isValid()) {
             return ResponseEntity.badRequest().body("Invalid configuration provided.");
         }
 
-        currentConfiguration = config; // Save the configuration
+        configurationService.saveConfiguration(config.toConfigurationManager()); // Persist and publish a new snapshot
         logService.addLog("Configuration updated: " + config); // Log the update
         return ResponseEntity.ok("Configuration saved successfully");
     }
 
     @PostMapping("/start")
     public ResponseEntity<String> startSystem() {
-        if (currentConfiguration == null) {
+        ConfigurationSnapshot configuration = configurationService.getSnapshot(); // No database access
+        if (configuration == null) {
             return ResponseEntity.badRequest().body("Configuration not set");
         }
+        SimulationSettings settings = configuration.settings();
 
         if (ticketService.isSystemRunning()) {
             return ResponseEntity.badRequest().body("System is already running");
@@ -48,16 +58,37 @@ public class TicketController {
 
         // Start the system with the current configuration
         ticketService.startSystem(
-                currentConfiguration.getTotalTickets(),
-                currentConfiguration.getTicketReleaseRate(),
-                currentConfiguration.getCustomerRetrievalRate(),
-                currentConfiguration.getMaxTicketCapacity()
+                settings.totalTickets(),
+                settings.ticketReleaseRate(),
+                settings.customerRetrievalRate(),
+                settings.maxTicketCapacity(),
+                settings.numberOfVendors(),
+                settings.numberOfCustomers()
         );
 
-        logService.addLog("System started with configuration: " + currentConfiguration);
+        logService.addLog("System started with configuration version " + configuration.version() + ": " + settings);
         return ResponseEntity.ok("System started successfully");
     }
 
+    @PostMapping("/reconfigure")
+    public ResponseEntity<String> reconfigureSystem(@RequestBody Reconfiguration request) {
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().body("Invalid configuration provided.");
+        }
+        int releaseRate = request.getTicketReleaseRate();
+        int retrievalRate = request.getCustomerRetrievalRate();
+        int maxCapacity = request.getMaxTicketCapacity();
+        try {
+            // Applied to the running pool without a restart and saved so the next start uses the same values
+            configurationService.updateRates(releaseRate, retrievalRate, maxCapacity,
+                    () -> ticketService.reconfigureSystem(releaseRate, retrievalRate, maxCapacity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        logService.addLog("Configuration updated: " + request);
+        return ResponseEntity.ok("System reconfigured successfully");
+    }
+
     @PostMapping("/stop")
     public ResponseEntity<String> stopSystem() {
         ticketService.stopSystem(); // Stop the system
@@ -75,6 +106,23 @@ public class TicketController {
         }
     }
 
+    @PostMapping("/purchase")
+    public ResponseEntity<?> purchaseTickets(@RequestBody BulkPurchaseRequest request) {
+        return purchase(ticketService, TicketService.DEFAULT_EVENT_ID, request);
+    }
+
+    @PostMapping("/seats")
+    public ResponseEntity<?> buySeats(@RequestParam int customerId, @RequestParam int count) {
+        return seats(ticketService, TicketService.DEFAULT_EVENT_ID, customerId, count);
+    }
+
+    @PostMapping("/waiting-room")
+    public CompletableFuture<ResponseEntity<String>> joinWaitingRoom(@RequestParam int customerId,
+                                                                   @RequestParam(defaultValue = "0") int priority,
+                                                                   @RequestParam(defaultValue = "0") long waitMs) {
+        return waitForAdmission(ticketService, TicketService.DEFAULT_EVENT_ID, customerId, priority, waitMs);
+    }
+
     @GetMapping("/status")
     public ResponseEntity<String> getSystemStatus() {
         // Check if the system is running or stopped
@@ -89,9 +137,68 @@ public class TicketController {
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/load-report")
+    public ResponseEntity<LoadGenerator.Report> getLoadReport() {
+        // Throughput and latency of the simulated load, live while running and final once stopped
+        LoadGenerator.Report report = ticketService.getLoadReport(TicketService.DEFAULT_EVENT_ID);
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping("/logs")
-    public ResponseEntity<List<String>> getLogs() {
-        return ResponseEntity.ok(logService.getLogs()); // Return system logs
+    public ResponseEntity<LogRingBuffer.Page> getLogs(@RequestParam(defaultValue = "0") long since,
+                                                      @RequestParam(defaultValue = "200") int limit) {
+        // Return system logs newer than the client's cursor; pass nextSince back on the following call
+        int pageSize = Math.max(1, Math.min(limit, MAX_LOG_PAGE));
+        return ResponseEntity.ok(logService.getLogs(since, pageSize));
+    }
+
+    // Queues a customer and answers once the waiting room admitted or dismissed them; the request thread is not held
+    static CompletableFuture<ResponseEntity<String>> waitForAdmission(TicketService ticketService, String eventId,
+                                                                      int customerId, int priority, long waitMs) {
+        try {
+            return ticketService.joinWaitingRoom(eventId, customerId, priority, waitMs)
+                    .thenApply(admitted -> admitted
+                            ? ResponseEntity.ok("Customer " + customerId + " bought a ticket.")
+                            : ResponseEntity.badRequest().body("Customer " + customerId + " was not admitted."));
+        } catch (IllegalStateException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+    }
+
+    // Sells a block of adjacent seats for the system and per-event endpoints
+    static ResponseEntity<?> seats(TicketService ticketService, String eventId, int customerId, int count) {
+        try {
+            return ResponseEntity.ok(ticketService.buySeats(eventId, customerId, count));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Runs a bulk purchase for the system and per-event endpoints
+    static ResponseEntity<?> purchase(TicketService ticketService, String eventId, BulkPurchaseRequest request) {
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().body("Invalid purchase: 1-" + BulkPurchaseRequest.MAX_TICKETS
+                    + " tickets in total, positive quantities.");
+        }
+        int[] customerIds = new int[request.getOrders().size()];
+        int[] quantities = new int[customerIds.length];
+        for (int i = 0; i < customerIds.length; i++) {
+            customerIds[i] = request.getOrders().get(i).getCustomerId();
+            quantities[i] = request.getOrders().get(i).getQuantity();
+        }
+        try {
+            List<List<Long>> ticketIds = ticketService.purchaseTickets(eventId, customerIds, quantities);
+            List<Allocation> allocations = new ArrayList<>();
+            for (int i = 0; i < customerIds.length; i++) {
+                allocations.add(new Allocation(customerIds[i], quantities[i], ticketIds.get(i)));
+            }
+            return ResponseEntity.ok(allocations);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // DTO for storing ticket configuration
@@ -100,6 +207,8 @@ public class TicketController {
         private int ticketReleaseRate;
         private int customerRetrievalRate;
         private int maxTicketCapacity;
+        private int numberOfVendors = 500; // 0 falls back to the default participant count
+        private int numberOfCustomers = 500; // 0 falls back to the default participant count
 
         // Getters and setters for configuration properties
         public int getTotalTickets() {
@@ -134,15 +243,179 @@ public class TicketController {
             this.maxTicketCapacity = maxTicketCapacity;
         }
 
+        public int getNumberOfVendors() {
+            return numberOfVendors;
+        }
+
+        public void setNumberOfVendors(int numberOfVendors) {
+            this.numberOfVendors = numberOfVendors;
+        }
+
+        public int getNumberOfCustomers() {
+            return numberOfCustomers;
+        }
+
+        public void setNumberOfCustomers(int numberOfCustomers) {
+            this.numberOfCustomers = numberOfCustomers;
+        }
+
+        // Checks the business rules shared by the system and per-event endpoints
+        public boolean isValid() {
+            return totalTickets > 0 &&
+                    ticketReleaseRate > 1000 &&
+                    customerRetrievalRate > 1000 &&
+                    maxTicketCapacity <= totalTickets &&
+                    numberOfVendors >= 0 &&
+                    numberOfCustomers >= 0;
+        }
+
+        // Converts this request body into immutable pool settings
+        public SimulationSettings toSettings() {
+            return new SimulationSettings(totalTickets, ticketReleaseRate, customerRetrievalRate,
+                    maxTicketCapacity, numberOfVendors, numberOfCustomers);
+        }
+
+        // Converts this request body into the entity stored by the configuration service
+        public ConfigurationManager toConfigurationManager() {
+            ConfigurationManager configuration = new ConfigurationManager(totalTickets, ticketReleaseRate,
+                    customerRetrievalRate, maxTicketCapacity);
+            configuration.setNumberOfVendors(numberOfVendors);
+            configuration.setNumberOfCustomers(numberOfCustomers);
+            return configuration;
+        }
+
         @Override
         public String toString() {
             return "Total Tickets=" + totalTickets +
                     ", Ticket Release Rate=" + ticketReleaseRate + "ms" +
+                    ", Customer Retrieval Rate=" + customerRetrievalRate + "ms" +
+                    ", Max Ticket Capacity=" + maxTicketCapacity +
+                    ", Vendors=" + numberOfVendors +
+                    ", Customers=" + numberOfCustomers;
+        }
+    }
+
+    // DTO for the settings that can be changed while the system is running
+    public static class Reconfiguration {
+        private int ticketReleaseRate;
+        private int customerRetrievalRate;
+        private int maxTicketCapacity;
+
+        public int getTicketReleaseRate() {
+            return ticketReleaseRate;
+        }
+
+        public void setTicketReleaseRate(int ticketReleaseRate) {
+            this.ticketReleaseRate = ticketReleaseRate;
+        }
+
+        public int getCustomerRetrievalRate() {
+            return customerRetrievalRate;
+        }
+
+        public void setCustomerRetrievalRate(int customerRetrievalRate) {
+            this.customerRetrievalRate = customerRetrievalRate;
+        }
+
+        public int getMaxTicketCapacity() {
+            return maxTicketCapacity;
+        }
+
+        public void setMaxTicketCapacity(int maxTicketCapacity) {
+            this.maxTicketCapacity = maxTicketCapacity;
+        }
+
+        // Same rules as TicketConfiguration; the capacity is checked against the total tickets by the service
+        public boolean isValid() {
+            return ticketReleaseRate > 1000 &&
+                    customerRetrievalRate > 1000 &&
+                    maxTicketCapacity > 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Ticket Release Rate=" + ticketReleaseRate + "ms" +
                     ", Customer Retrieval Rate=" + customerRetrievalRate + "ms" +
                     ", Max Ticket Capacity=" + maxTicketCapacity;
         }
     }
 
+    // DTO for a bulk purchase: every order is sold or none is
+    public static class BulkPurchaseRequest {
+        static final int MAX_TICKETS = 1000; // Upper bound for the tickets of one request
+
+        private List<Order> orders = new ArrayList<>();
+
+        public List<Order> getOrders() {
+            return orders;
+        }
+
+        public void setOrders(List<Order> orders) {
+            this.orders = orders;
+        }
+
+        public boolean isValid() {
+            if (orders == null || orders.isEmpty()) {
+                return false;
+            }
+            long total = 0;
+            for (Order order : orders) {
+                if (order == null || order.getQuantity() <= 0) {
+                    return false;
+                }
+                total += order.getQuantity();
+            }
+            return total <= MAX_TICKETS;
+        }
+    }
+
+    // DTO for the tickets one customer wants in a bulk purchase
+    public static class Order {
+        private int customerId;
+        private int quantity;
+
+        public int getCustomerId() {
+            return customerId;
+        }
+
+        public void setCustomerId(int customerId) {
+            this.customerId = customerId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    // DTO for the tickets sold to one customer; ticketIds is null if the rows were not written in time
+    public static class Allocation {
+        private final int customerId;
+        private final int quantity;
+        private final List<Long> ticketIds;
+
+        public Allocation(int customerId, int quantity, List<Long> ticketIds) {
+            this.customerId = customerId;
+            this.quantity = quantity;
+            this.ticketIds = ticketIds;
+        }
+
+        public int getCustomerId() {
+            return customerId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public List<Long> getTicketIds() {
+            return ticketIds;
+        }
+    }
+
     // DTO for ticket statistics
     public static class TicketStats {
         private int totalTickets;
@@ -1,16 +1,29 @@
 package com.example.ticket.controller;
 
+import com.example.ticket.config.StompEncodingInterceptor;
+import com.example.ticket.service.AvailabilityBroadcaster;
+import com.example.ticket.util.BinaryFrames;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+import java.util.Map;
 
 @Controller // Marks this class as a Spring MVC Controller
 public class WebSocketController {
 
+    private static final Map<String, Object> BINARY_HEADERS =
+            Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_OCTET_STREAM); // Sent as binary frames
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final StompEncodingInterceptor encodingInterceptor; // Knows which encodings have subscribers
 
     // Constructor-based dependency injection for SimpMessagingTemplate
-    public WebSocketController(SimpMessagingTemplate messagingTemplate) {
+    public WebSocketController(SimpMessagingTemplate messagingTemplate, StompEncodingInterceptor encodingInterceptor) {
         this.messagingTemplate = messagingTemplate;
+        this.encodingInterceptor = encodingInterceptor;
     }
 
     /**
@@ -22,4 +35,48 @@ public class WebSocketController {
     public void sendLogUpdate(String topic, String message) {
         messagingTemplate.convertAndSend(topic, message); // Publishes the message to the given topic
     }
+
+    /**
+     * Sends an object to a specific WebSocket topic, serialized as JSON.
+     *
+     * @param topic   The WebSocket topic to send the payload to (e.g., "/topic/logBatches").
+     * @param payload The object to serialize and send.
+     */
+    public void sendPayload(String topic, Object payload) {
+        messagingTemplate.convertAndSend(topic, payload); // Converted by the JSON message converter
+    }
+
+    /**
+     * Sends an availability update to the JSON and binary subscribers of a topic. Each encoding is only
+     * built when someone is subscribed to it.
+     *
+     * @param topic The availability topic, e.g. "/topic/ticketAvailability".
+     */
+    public void sendAvailability(String topic, String eventId, long sequence, int totalTickets, int availableTickets) {
+        if (encodingInterceptor.hasSubscribers(topic)) {
+            messagingTemplate.convertAndSend(topic, AvailabilityBroadcaster.toJson(totalTickets, availableTickets));
+        }
+        String binaryTopic = topic + StompEncodingInterceptor.BINARY_SUFFIX;
+        if (encodingInterceptor.hasSubscribers(binaryTopic)) {
+            messagingTemplate.convertAndSend(binaryTopic,
+                    BinaryFrames.availability(eventId, sequence, totalTickets, availableTickets), BINARY_HEADERS);
+        }
+    }
+
+    /**
+     * Sends a batch of consecutive log entries to the JSON and binary subscribers of a topic.
+     *
+     * @param topic         The log topic, e.g. "/topic/logBatches".
+     * @param firstSequence Sequence number of the first entry.
+     * @param jsonPayload   The JSON form of the batch, serialized only if it has subscribers.
+     */
+    public void sendLogBatch(String topic, long firstSequence, List<String> entries, Object jsonPayload) {
+        if (encodingInterceptor.hasSubscribers(topic)) {
+            messagingTemplate.convertAndSend(topic, jsonPayload);
+        }
+        String binaryTopic = topic + StompEncodingInterceptor.BINARY_SUFFIX;
+        if (encodingInterceptor.hasSubscribers(binaryTopic)) {
+            messagingTemplate.convertAndSend(binaryTopic, BinaryFrames.logBatch(firstSequence, entries), BINARY_HEADERS);
+        }
+    }
 }
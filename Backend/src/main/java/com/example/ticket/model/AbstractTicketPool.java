@@ -0,0 +1,331 @@
+package com.example.ticket.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class holding the configuration and listener shared by all ticket pool implementations.
+ * Subclasses only update the available count and then call the {@code on...} hooks,
+ * which must never be invoked while a lock is held.
+ * <p>
+ * Held tickets are counted here. A hold first counts the ticket as held and then takes it from the
+ * available count; a release puts it back before uncounting it. Subclasses read the available count
+ * before {@link #heldTickets()} when checking capacity, so available plus held never exceeds maxCapacity.
+ * <p>
+ * Capacity and rates can be changed while the pool is running. They are swapped in as one immutable
+ * {@link Limits} value, so readers never see a capacity from one configuration and a rate from another.
+ * Lowering the capacity below what is available removes nothing: those tickets stay for sale and adds are
+ * rejected until sales bring the pool back under the new capacity.
+ * <p>
+ * An optional {@link ParticipantLimiter} is consulted before the inventory is touched: purchases and holds
+ * over a customer's limits and releases over a vendor's cap are refused without taking or adding tickets,
+ * and a purchase that finds no ticket gives its charge back.
+ */
+public abstract class AbstractTicketPool implements TicketPool {
+    protected final int totalTickets; // Total tickets in the pool
+    private volatile Limits limits; // Capacity and rates, replaced as a whole on reconfiguration
+    private final int initialTickets; // Available tickets when the pool is created
+    private volatile boolean running; // System state (running or stopped)
+    private final AtomicInteger heldTickets = new AtomicInteger(); // Tickets taken out for pending checkouts
+    private volatile ParticipantLimiter limiter; // Per-participant limits of the run, null for none
+
+    private final TicketPoolListener listener; // Logs and broadcasts pool activity
+
+    protected AbstractTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                                 TicketPoolListener listener) {
+        this(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, -1);
+    }
+
+    // initialTickets overrides the starting count, e.g. when resuming a recovered run; -1 starts from totalTickets
+    protected AbstractTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                                 TicketPoolListener listener, int initialTickets) {
+        this.initialTickets = Math.max(0, Math.min(initialTickets >= 0 ? initialTickets : totalTickets, maxCapacity));
+        this.totalTickets = totalTickets;
+        this.limits = new Limits(maxCapacity, ticketReleaseRate, customerRetrievalRate);
+        this.listener = listener;
+        this.running = false; // System starts in a stopped state
+    }
+
+    // Initial ticket count for a freshly created pool
+    protected int initialTickets() {
+        return initialTickets;
+    }
+
+    // Maximum tickets that can be available at a time; read once per capacity check
+    protected final int maxCapacity() {
+        return limits.maxCapacity();
+    }
+
+    @Override
+    public void reconfigure(int maxCapacity, int ticketReleaseRate, int customerRetrievalRate) {
+        if (maxCapacity <= 0 || ticketReleaseRate <= 0 || customerRetrievalRate <= 0) {
+            throw new IllegalArgumentException("Capacity and rates must be positive.");
+        }
+        synchronized (this) { // Keeps onCapacityChanged in the same order as the swaps
+            limits = new Limits(maxCapacity, ticketReleaseRate, customerRetrievalRate);
+            onCapacityChanged(maxCapacity);
+        }
+    }
+
+    @Override
+    public void setLimiter(ParticipantLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    // Called after the capacity was replaced, for pools that derive state from it
+    protected void onCapacityChanged(int maxCapacity) {
+    }
+
+    // Removes numberOfTickets available tickets, all or none; returns the available count after the change,
+    // or -1 if there were not enough
+    protected abstract int takeTickets(int numberOfTickets);
+
+    // Puts one previously taken ticket back, even if vendors filled the rest; returns the available count after
+    protected abstract int returnTicket();
+
+    // Takes one ticket for a hold; pools that tell tickets apart override it to mark the ticket as held
+    protected int takeHeldTicket() {
+        return takeTickets(1);
+    }
+
+    // Turns one held ticket into a sold one; nothing to do for pools that only count tickets
+    protected void sellHeldTicket() {
+    }
+
+    // Tickets currently held; subclasses must read it after the available count when checking capacity
+    protected final int heldTickets() {
+        return heldTickets.get();
+    }
+
+    @Override
+    public boolean buyTicket(int customerId) {
+        if (!admitPurchase(customerId, 1)) {
+            return false;
+        }
+        int available = takeTickets(1);
+        if (available < 0) {
+            refundPurchase(customerId, 1);
+            onBuyFailed(customerId);
+            return false; // Nothing left to sell
+        }
+        onTicketBought(customerId, available);
+        return true;
+    }
+
+    @Override
+    public boolean holdTicket(int customerId) {
+        return tryHoldTicket(customerId) == HoldOutcome.HELD;
+    }
+
+    @Override
+    public HoldOutcome tryHoldTicket(int customerId) {
+        ParticipantLimiter.Rejection rejection = chargePurchase(customerId, 1);
+        if (rejection != null) {
+            return HoldOutcome.of(rejection);
+        }
+        heldTickets.incrementAndGet(); // Claim the capacity first so adds never see room that is not there
+        int available = takeHeldTicket();
+        if (available < 0) {
+            heldTickets.decrementAndGet();
+            refundPurchase(customerId, 1);
+            onBuyFailed(customerId);
+            return HoldOutcome.SOLD_OUT;
+        }
+        listener.onTicketHeld(this, customerId, available);
+        return HoldOutcome.HELD;
+    }
+
+    @Override
+    public boolean buyTickets(int[] customerIds, int[] quantities) {
+        if (customerIds.length != quantities.length || customerIds.length == 0) {
+            throw new IllegalArgumentException("Every customer needs exactly one quantity.");
+        }
+        int total = 0;
+        for (int quantity : quantities) {
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Quantities must be positive.");
+            }
+            total = Math.addExact(total, quantity);
+        }
+        for (int i = 0; i < customerIds.length; i++) {
+            if (!admitPurchase(customerIds[i], quantities[i])) {
+                refundPurchases(customerIds, quantities, i); // The order is refused as a whole
+                return false;
+            }
+        }
+
+        int available = takeTickets(total); // One pool operation for the whole order
+        if (available < 0) {
+            refundPurchases(customerIds, quantities, customerIds.length);
+            for (int customerId : customerIds) {
+                onBuyFailed(customerId);
+            }
+            return false;
+        }
+        for (int i = 0; i < customerIds.length; i++) {
+            listener.onTicketsBought(this, customerIds[i], quantities[i], available);
+        }
+        return true;
+    }
+
+    @Override
+    public void confirmHold(int customerId) {
+        releaseHeldCount();
+        sellHeldTicket();
+        listener.onHoldConfirmed(this, customerId, getAvailableTickets());
+    }
+
+    @Override
+    public void releaseHold(int customerId) {
+        if (heldTickets.get() <= 0) {
+            throw new IllegalStateException("No ticket is held");
+        }
+        int available = returnTicket();
+        releaseHeldCount();
+        refundPurchase(customerId, 1); // Not bought after all
+        listener.onHoldReleased(this, customerId, available);
+    }
+
+    @Override
+    public int getHeldTickets() {
+        return heldTickets.get();
+    }
+
+    // Charges a purchase to the customer's limits before any ticket is taken; reports and returns false if refused
+    protected final boolean admitPurchase(int customerId, int quantity) {
+        return chargePurchase(customerId, quantity) == null;
+    }
+
+    // Same as admitPurchase, but returns why the purchase was refused, or null if it was admitted
+    private ParticipantLimiter.Rejection chargePurchase(int customerId, int quantity) {
+        ParticipantLimiter limits = limiter;
+        if (limits == null) {
+            return null;
+        }
+        ParticipantLimiter.Rejection rejection = limits.admitPurchase(customerId, quantity);
+        if (rejection != null) {
+            listener.onPurchaseRejected(this, customerId, rejection);
+        }
+        return rejection;
+    }
+
+    // Gives back the charge of an admitted purchase that sold nothing
+    protected final void refundPurchase(int customerId, int quantity) {
+        ParticipantLimiter limits = limiter;
+        if (limits != null) {
+            limits.refundPurchase(customerId, quantity);
+        }
+    }
+
+    // Gives back the charges of the first count entries of an order
+    private void refundPurchases(int[] customerIds, int[] quantities, int count) {
+        for (int i = 0; i < count; i++) {
+            refundPurchase(customerIds[i], quantities[i]);
+        }
+    }
+
+    /**
+     * Charges a release to the vendor's cap before a subclass adds tickets.
+     *
+     * @return Tickets the vendor may add, at most {@code requested}; 0 if it reached its cap, which was reported.
+     */
+    protected final int admitRelease(int vendorId, int requested) {
+        ParticipantLimiter limits = limiter;
+        if (limits == null) {
+            return requested;
+        }
+        int allowed = limits.admitRelease(vendorId, requested);
+        if (allowed <= 0) {
+            listener.onReleaseRejected(this, vendorId, requested);
+        }
+        return allowed;
+    }
+
+    // Gives back the part of an admitted release that did not fit into the pool
+    protected final void settleRelease(int vendorId, int allowed, int ticketsAdded) {
+        ParticipantLimiter limits = limiter;
+        if (limits != null && ticketsAdded < allowed) {
+            limits.refundRelease(vendorId, allowed - ticketsAdded);
+        }
+    }
+
+    private void releaseHeldCount() {
+        int held;
+        do {
+            held = heldTickets.get();
+            if (held <= 0) {
+                throw new IllegalStateException("No ticket is held");
+            }
+        } while (!heldTickets.compareAndSet(held, held - 1));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener.onStarted(this);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listener.onStopped(this);
+    }
+
+    // Called after a vendor successfully added tickets; available is the count right after the change
+    protected void onTicketsAdded(int vendorId, int ticketsAdded, int available) {
+        listener.onTicketsAdded(this, vendorId, ticketsAdded, available);
+    }
+
+    // Called after a customer successfully bought a ticket; available is the count right after the change
+    protected void onTicketBought(int customerId, int available) {
+        listener.onTicketBought(this, customerId, available);
+    }
+
+    // Called after a customer bought several tickets in one operation
+    protected void onTicketsBought(int customerId, int quantity, int available) {
+        listener.onTicketsBought(this, customerId, quantity, available);
+    }
+
+    // Called when a buy found no ticket
+    protected void onBuyFailed(int customerId) {
+        listener.onBuyFailed(this, customerId);
+    }
+
+    // Called when an add found the pool at max capacity
+    protected void onAddRejected(int vendorId, int requested) {
+        listener.onAddRejected(this, vendorId, requested);
+    }
+
+    // Called by lock-based pools after releasing the lock
+    protected void onLockTimed(long waitNanos, long holdNanos) {
+        listener.onLockTimed(this, waitNanos, holdNanos);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getTotalTickets() {
+        return totalTickets;
+    }
+
+    @Override
+    public int getMaxCapacity() {
+        return limits.maxCapacity();
+    }
+
+    @Override
+    public int getTicketReleaseRate() {
+        return limits.ticketReleaseRate();
+    }
+
+    @Override
+    public int getCustomerRetrievalRate() {
+        return limits.customerRetrievalRate();
+    }
+
+    // Settings that can change while the pool runs
+    private record Limits(int maxCapacity, int ticketReleaseRate, int customerRetrievalRate) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ticket.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free ticket pool. The available count is a single atomic counter updated with
+ * compare-and-set, bounded below by zero and above by maxCapacity.
+ */
+public class AtomicTicketPool extends AbstractTicketPool {
+    private final AtomicInteger availableTickets; // Current number of available tickets
+
+    public AtomicTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                            TicketPoolListener listener) {
+        this(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, -1);
+    }
+
+    public AtomicTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                            TicketPoolListener listener, int initialTickets) {
+        super(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, initialTickets);
+        this.availableTickets = new AtomicInteger(initialTickets());
+    }
+
+    @Override
+    public boolean addTicket(int vendorId) {
+        return addMultipleTickets(1, vendorId);
+    }
+
+    @Override
+    public boolean addMultipleTickets(int numberOfTickets, int vendorId) {
+        int allowed = admitRelease(vendorId, numberOfTickets);
+        if (allowed <= 0) {
+            return false; // Vendor reached its release cap
+        }
+        int current;
+        int ticketsAdded;
+        do {
+            current = availableTickets.get();
+            ticketsAdded = Math.min(allowed, maxCapacity() - current - heldTickets());
+            if (ticketsAdded <= 0) {
+                settleRelease(vendorId, allowed, 0);
+                onAddRejected(vendorId, numberOfTickets);
+                return false; // Pool is already at max capacity
+            }
+        } while (!availableTickets.compareAndSet(current, current + ticketsAdded));
+
+        settleRelease(vendorId, allowed, ticketsAdded);
+        onTicketsAdded(vendorId, ticketsAdded, current + ticketsAdded);
+        return true;
+    }
+
+    @Override
+    protected int takeTickets(int numberOfTickets) {
+        int current;
+        do {
+            current = availableTickets.get();
+            if (current < numberOfTickets) {
+                return -1;
+            }
+        } while (!availableTickets.compareAndSet(current, current - numberOfTickets));
+        return current - numberOfTickets;
+    }
+
+    @Override
+    protected int returnTicket() {
+        return availableTickets.incrementAndGet();
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        return availableTickets.get();
+    }
+}
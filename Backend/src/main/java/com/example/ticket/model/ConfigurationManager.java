@@ -16,6 +16,8 @@ public class ConfigurationManager {
     private int ticketReleaseRate; // Rate at which tickets are released (in milliseconds)
     private int customerRetrievalRate; // Rate at which customers retrieve tickets (in milliseconds)
     private int maxTicketCapacity; // Maximum number of tickets available at a time
+    private int numberOfVendors = 500; // Number of simulated vendors releasing tickets
+    private int numberOfCustomers = 500; // Number of simulated customers buying tickets
 
     // Default constructor required by JPA
     public ConfigurationManager() {
@@ -70,6 +72,22 @@ public class ConfigurationManager {
         this.maxTicketCapacity = maxTicketCapacity;
     }
 
+    public int getNumberOfVendors() {
+        return numberOfVendors;
+    }
+
+    public void setNumberOfVendors(int numberOfVendors) {
+        this.numberOfVendors = numberOfVendors;
+    }
+
+    public int getNumberOfCustomers() {
+        return numberOfCustomers;
+    }
+
+    public void setNumberOfCustomers(int numberOfCustomers) {
+        this.numberOfCustomers = numberOfCustomers;
+    }
+
     @Override
     public String toString() {
         return "ConfigurationManager{" +
@@ -78,6 +96,8 @@ public class ConfigurationManager {
                 ", ticketReleaseRate=" + ticketReleaseRate +
                 ", customerRetrievalRate=" + customerRetrievalRate +
                 ", maxTicketCapacity=" + maxTicketCapacity +
+                ", numberOfVendors=" + numberOfVendors +
+                ", numberOfCustomers=" + numberOfCustomers +
                 '}';
     }
 }
@@ -0,0 +1,28 @@
+package com.example.ticket.model;
+
+/**
+ * Immutable view of the saved system configuration. A new snapshot with the next version replaces the
+ * previous one whenever the configuration is saved or reset, so readers never see a half-updated configuration.
+ *
+ * @param version  Increases by one with every save or reset since startup; 1 is the configuration loaded at startup.
+ * @param settings The saved settings.
+ */
+public record ConfigurationSnapshot(long version, SimulationSettings settings) {
+
+    // Builds a snapshot of a stored configuration
+    public static ConfigurationSnapshot of(long version, ConfigurationManager configuration) {
+        return new ConfigurationSnapshot(version, new SimulationSettings(configuration.getTotalTickets(),
+                configuration.getTicketReleaseRate(), configuration.getCustomerRetrievalRate(),
+                configuration.getMaxTicketCapacity(), configuration.getNumberOfVendors(),
+                configuration.getNumberOfCustomers()));
+    }
+
+    // Detached entity with the snapshot's values, for callers of the original API
+    public ConfigurationManager toConfigurationManager() {
+        ConfigurationManager configuration = new ConfigurationManager(settings.totalTickets(),
+                settings.ticketReleaseRate(), settings.customerRetrievalRate(), settings.maxTicketCapacity());
+        configuration.setNumberOfVendors(settings.numberOfVendors());
+        configuration.setNumberOfCustomers(settings.numberOfCustomers());
+        return configuration;
+    }
+}
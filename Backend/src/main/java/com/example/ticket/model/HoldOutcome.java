@@ -0,0 +1,17 @@
+package com.example.ticket.model;
+
+/**
+ * Result of {@link TicketPool#tryHoldTicket}, telling a sold-out pool apart from a throttled customer.
+ */
+public enum HoldOutcome {
+
+    HELD, // The ticket is held for the customer
+    SOLD_OUT, // No ticket was available
+    CAPPED, // The customer reached its ticket cap
+    RATE_LIMITED; // The customer sent purchase requests faster than its token bucket allows
+
+    // Outcome of a hold refused by the participant limiter
+    static HoldOutcome of(ParticipantLimiter.Rejection rejection) {
+        return rejection == ParticipantLimiter.Rejection.RATE_LIMITED ? RATE_LIMITED : CAPPED;
+    }
+}
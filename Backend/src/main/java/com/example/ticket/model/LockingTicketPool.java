@@ -0,0 +1,103 @@
+package com.example.ticket.model;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reference ticket pool that guards the available count with a single lock.
+ * Only the count update happens under the lock; logging and notifications run after it is released.
+ */
+public class LockingTicketPool extends AbstractTicketPool {
+    private int availableTickets; // Current number of available tickets, guarded by lock
+
+    private final Lock lock = new ReentrantLock(); // Ensures thread-safe operations
+
+    // Constructor initializes ticket pool with configuration and dependencies
+    public LockingTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener) {
+        this(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, -1);
+    }
+
+    public LockingTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener, int initialTickets) {
+        super(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, initialTickets);
+        this.availableTickets = initialTickets(); // Initial ticket count
+    }
+
+    // Adds a single ticket by a vendor, if capacity allows
+    @Override
+    public boolean addTicket(int vendorId) {
+        return addMultipleTickets(1, vendorId);
+    }
+
+    // Adds multiple tickets by a vendor, up to max capacity
+    @Override
+    public boolean addMultipleTickets(int numberOfTickets, int vendorId) {
+        int allowed = admitRelease(vendorId, numberOfTickets);
+        if (allowed <= 0) {
+            return false; // Vendor reached its release cap
+        }
+        int ticketsAdded;
+        int available;
+        long requested = System.nanoTime();
+        lock.lock();
+        long acquired = System.nanoTime();
+        try {
+            ticketsAdded = Math.max(0, Math.min(allowed, maxCapacity() - availableTickets - heldTickets()));
+            availableTickets += ticketsAdded;
+            available = availableTickets;
+        } finally {
+            lock.unlock();
+        }
+        onLockTimed(acquired - requested, System.nanoTime() - acquired);
+
+        settleRelease(vendorId, allowed, ticketsAdded);
+        if (ticketsAdded > 0) {
+            onTicketsAdded(vendorId, ticketsAdded, available);
+            return true;
+        }
+        onAddRejected(vendorId, numberOfTickets);
+        return false;
+    }
+
+    @Override
+    protected int takeTickets(int numberOfTickets) {
+        int available;
+        long requested = System.nanoTime();
+        lock.lock();
+        long acquired = System.nanoTime();
+        try {
+            // -1 when there were not enough left
+            available = availableTickets >= numberOfTickets ? availableTickets -= numberOfTickets : -1;
+        } finally {
+            lock.unlock();
+        }
+        onLockTimed(acquired - requested, System.nanoTime() - acquired);
+        return available;
+    }
+
+    @Override
+    protected int returnTicket() {
+        int available;
+        long requested = System.nanoTime();
+        lock.lock();
+        long acquired = System.nanoTime();
+        try {
+            available = ++availableTickets;
+        } finally {
+            lock.unlock();
+        }
+        onLockTimed(acquired - requested, System.nanoTime() - acquired);
+        return available;
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        lock.lock();
+        try {
+            return availableTickets;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ticket.model;
+
+import com.example.ticket.util.UsageTable;
+
+/**
+ * Per-customer and per-vendor limits of one run, checked by the pool before it touches its inventory:
+ * a cap on the tickets each customer may buy, a token-bucket limit on each customer's purchase requests,
+ * and a cap on the tickets each vendor may release.
+ * <p>
+ * Usage is kept in fixed-size {@link UsageTable}s, so a check is a few lock-free atomic operations with
+ * no allocation, and memory does not grow with the number of participants. A participant's usage is
+ * forgotten after it has not been charged for the entry TTL, so caps apply per period of activity.
+ * Purchases that find no ticket give their charge back.
+ */
+public final class ParticipantLimiter {
+    private final UsageTable customers; // Null when customers are not limited
+    private final UsageTable vendors; // Null when vendors are not limited
+
+    private ParticipantLimiter(UsageTable customers, UsageTable vendors) {
+        this.customers = customers;
+        this.vendors = vendors;
+    }
+
+    /**
+     * Creates the limiter for a run, or returns null when the policy limits nothing.
+     */
+    public static ParticipantLimiter of(Policy policy) {
+        boolean limitCustomers = policy.customerMaxTickets() > 0 || policy.customerRequestsPerSecond() > 0;
+        boolean limitVendors = policy.vendorMaxTickets() > 0;
+        if (!limitCustomers && !limitVendors) {
+            return null;
+        }
+        return new ParticipantLimiter(
+                limitCustomers ? new UsageTable(policy.tableSize(), policy.customerMaxTickets(),
+                        policy.customerRequestsPerSecond(), policy.customerBurst(), policy.entryTtlMillis()) : null,
+                limitVendors ? new UsageTable(policy.tableSize(), policy.vendorMaxTickets(), 0, 1,
+                        policy.entryTtlMillis()) : null);
+    }
+
+    /**
+     * Charges a purchase attempt of {@code quantity} tickets to a customer.
+     *
+     * @return null if admitted, otherwise why not.
+     */
+    public Rejection admitPurchase(int customerId, int quantity) {
+        if (customers == null) {
+            return null;
+        }
+        int result = customers.charge(customerId, quantity, System.currentTimeMillis());
+        return result > 0 ? null : result == UsageTable.RATE_LIMITED ? Rejection.RATE_LIMITED : Rejection.CAPPED;
+    }
+
+    // Gives back tickets charged to a customer that were not sold after all
+    public void refundPurchase(int customerId, int quantity) {
+        if (customers != null) {
+            customers.refund(customerId, quantity);
+        }
+    }
+
+    /**
+     * Charges a release to a vendor, trimmed to what its cap still allows.
+     *
+     * @return Tickets the vendor may add; 0 if it reached its cap.
+     */
+    public int admitRelease(int vendorId, int requested) {
+        if (vendors == null) {
+            return requested;
+        }
+        return Math.max(0, vendors.chargeUpTo(vendorId, requested, System.currentTimeMillis()));
+    }
+
+    // Gives back the part of an admitted release the pool had no room for
+    public void refundRelease(int vendorId, int count) {
+        if (vendors != null) {
+            vendors.refund(vendorId, count);
+        }
+    }
+
+    // Charges admitted without limits because a table had no free slot for the participant
+    public long getUntrackedCount() {
+        return (customers != null ? customers.getUntrackedCount() : 0)
+                + (vendors != null ? vendors.getUntrackedCount() : 0);
+    }
+
+    /**
+     * Why an operation was refused.
+     */
+    public enum Rejection {
+        CAPPED, // The participant reached its ticket cap
+        RATE_LIMITED // The customer sent purchase requests faster than its token bucket allows
+    }
+
+    /**
+     * Limits of a run; 0 turns a limit off.
+     *
+     * @param customerMaxTickets        Tickets one customer may buy.
+     * @param customerRequestsPerSecond Sustained purchase requests per customer.
+     * @param customerBurst             Requests a customer may send at once after being idle.
+     * @param vendorMaxTickets          Tickets one vendor may release.
+     * @param tableSize                 Participants tracked at a time per table.
+     * @param entryTtlMillis            Idle time after which a participant's usage is forgotten.
+     */
+    public record Policy(int customerMaxTickets, double customerRequestsPerSecond, int customerBurst,
+                         int vendorMaxTickets, int tableSize, long entryTtlMillis) {
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.ticket.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Seats of one venue: sections of rows of numbered seats, stored as one bitset of free seats per row.
+ * <p>
+ * Each row also keeps the length of its longest run of adjacent free seats. Searches read that index
+ * without locking and only lock rows that can satisfy the request, so a best-available search for N
+ * adjacent seats touches a handful of rows even in a 100k-seat venue, and allocations in different rows
+ * never wait for each other. Rows are searched in order of preference (first section first, front row
+ * first); within a row the block closest to the centre wins.
+ * <p>
+ * Seats are put on sale in layout order by {@link #release}. Seats past the release cursor are not on sale
+ * yet; seats before it are free, held or sold. Sold seats never return, so a venue can sell out.
+ * <p>
+ * Orders that do not fit one row, or find no row with enough adjacent free seats, are split by
+ * {@link #takeSeats} over the largest free blocks of the best rows, all or nothing.
+ */
+public final class SeatMap {
+    private static final int SINGLE_SEAT_SPREAD = 8; // Candidate rows single-seat buyers are spread over
+
+    private final Layout layout; // Effective layout, grown to fit the total tickets
+    private final Row[] rows; // In order of preference
+    private final int totalSeats;
+    private final AtomicInteger released = new AtomicInteger(); // Seats [0, released) have been put on sale
+    private final AtomicInteger free = new AtomicInteger(); // Seats on sale and neither held nor sold
+
+    /**
+     * @param minimumSeats Seats the venue must have at least; rows are added to every section to fit them.
+     * @param layout       Sections, rows per section and seats per row.
+     * @param onSale       Seats put on sale right away, in layout order.
+     */
+    public SeatMap(int minimumSeats, Layout layout, int onSale) {
+        int rowsPerSection = Math.max(layout.rowsPerSection(),
+                (int) Math.ceil(minimumSeats / (double) ((long) layout.sections() * layout.seatsPerRow())));
+        this.layout = new Layout(layout.sections(), rowsPerSection, layout.seatsPerRow());
+        this.totalSeats = Math.toIntExact((long) layout.sections() * rowsPerSection * layout.seatsPerRow());
+        this.rows = new Row[layout.sections() * rowsPerSection];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Row(layout.seatsPerRow());
+        }
+        release(onSale, Integer.MAX_VALUE, () -> 0);
+    }
+
+    /**
+     * Puts up to {@code requested} more seats on sale, keeping free plus held seats within {@code maxFree}.
+     *
+     * @param heldSeats Seats currently held; read after the free count, like the pools' capacity checks.
+     * @return How many seats were put on sale; 0 when at capacity or sold out.
+     */
+    public int release(int requested, int maxFree, IntSupplier heldSeats) {
+        // Reserve the capacity first, then claim seats from the release cursor
+        int current;
+        int accepted;
+        do {
+            current = free.get();
+            accepted = Math.min(Math.min(requested, maxFree - current - heldSeats.getAsInt()),
+                    totalSeats - released.get());
+            if (accepted <= 0) {
+                return 0;
+            }
+        } while (!free.compareAndSet(current, current + accepted));
+
+        int first;
+        int claimed;
+        do {
+            first = released.get();
+            claimed = Math.min(accepted, totalSeats - first);
+        } while (claimed > 0 && !released.compareAndSet(first, first + claimed));
+        claimed = Math.max(0, claimed);
+        if (claimed < accepted) {
+            free.addAndGet(claimed - accepted); // Another vendor got the last seats
+        }
+
+        int seatsPerRow = layout.seatsPerRow();
+        for (int seat = first; seat < first + claimed; ) {
+            int rowEnd = Math.min(first + claimed, (seat / seatsPerRow + 1) * seatsPerRow);
+            rows[seat / seatsPerRow].putOnSale(seat % seatsPerRow, rowEnd - seat);
+            seat = rowEnd;
+        }
+        return claimed;
+    }
+
+    /**
+     * Sells the best available block of {@code count} adjacent seats.
+     *
+     * @return The first seat of the block, or -1 if no row has that many adjacent free seats.
+     */
+    public int takeAdjacent(int count) {
+        return take(count, false, 0);
+    }
+
+    /**
+     * Sells {@code count} seats, all or none: one block of adjacent seats if a row has one, otherwise the
+     * largest free blocks of the rows in order of preference. A split order that comes up short puts the seats
+     * it took back on sale.
+     *
+     * @return false if fewer than {@code count} seats are free.
+     */
+    public boolean takeSeats(int count) {
+        if (count <= 0 || count > free.get()) {
+            return false;
+        }
+        if (count <= layout.seatsPerRow() && take(count, false, 0) >= 0) {
+            return true;
+        }
+        List<int[]> blocks = new ArrayList<>(); // {row, first seat, count} of each block taken
+        int remaining = count;
+        for (int i = 0; i < rows.length && remaining > 0; i++) {
+            Row row = rows[i];
+            for (int n; remaining > 0 && (n = Math.min(remaining, row.longestRun)) > 0; ) {
+                int seat = row.take(n, false);
+                if (seat >= 0) { // Otherwise the run shrank since it was read; retry with the new length
+                    free.addAndGet(-n);
+                    blocks.add(new int[]{i, seat, n});
+                    remaining -= n;
+                }
+            }
+        }
+        if (remaining > 0) {
+            for (int[] block : blocks) {
+                rows[block[0]].putOnSale(block[1], block[2]);
+                free.addAndGet(block[2]);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sells one seat near the front. Callers pass a per-thread slot so that concurrent buyers start at
+     * different rows among the best few instead of all queuing on the best one.
+     *
+     * @return The seat, or -1 if none is free.
+     */
+    public int takeOne(int slot) {
+        return take(1, false, Math.floorMod(slot, SINGLE_SEAT_SPREAD));
+    }
+
+    /**
+     * Takes one seat near the front for a hold.
+     *
+     * @return The seat, or -1 if none is free.
+     */
+    public int hold(int slot) {
+        return take(1, true, Math.floorMod(slot, SINGLE_SEAT_SPREAD));
+    }
+
+    /**
+     * Turns one held seat into a sold one.
+     *
+     * @return false if no seat was held.
+     */
+    public boolean sellHeld() {
+        for (Row row : rows) {
+            if (row.heldCount > 0 && row.takeHeld(false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Puts one held seat back on sale.
+     *
+     * @return false if no seat was held.
+     */
+    public boolean releaseHeld() {
+        for (Row row : rows) {
+            if (row.heldCount > 0 && row.takeHeld(true)) {
+                free.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Seats on sale and neither held nor sold
+    public int getFreeSeats() {
+        return free.get();
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    // Layout actually used, with rows added to fit the total tickets
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Human-readable position of a block found by {@link #takeAdjacent}.
+     */
+    public SeatBlock blockOf(int firstSeat, int count) {
+        int row = firstSeat / layout.seatsPerRow();
+        return new SeatBlock(row / layout.rowsPerSection() + 1, row % layout.rowsPerSection() + 1,
+                firstSeat % layout.seatsPerRow() + 1, count);
+    }
+
+    // Searches rows in preference order, skipping the first `skip` candidates once
+    private int take(int count, boolean hold, int skip) {
+        if (count <= 0 || count > layout.seatsPerRow()) {
+            return -1;
+        }
+        while (true) {
+            boolean skipped = false;
+            for (int i = 0; i < rows.length; i++) {
+                Row row = rows[i];
+                if (row.longestRun < count) {
+                    continue; // The free-run index rules this row out without locking it
+                }
+                if (skip > 0) {
+                    skip--;
+                    skipped = true;
+                    continue;
+                }
+                int seat = row.take(count, hold);
+                if (seat >= 0) {
+                    free.addAndGet(-count);
+                    return i * layout.seatsPerRow() + seat;
+                }
+            }
+            if (!skipped) {
+                return -1;
+            }
+            skip = 0; // Fewer candidates than the spread; search again from the best row
+        }
+    }
+
+    // One row; every method that touches the bitsets holds the row's monitor
+    private static final class Row {
+        private final int size;
+        private final BitSet free; // Seats on sale and not taken
+        private final BitSet held; // Seats taken by holds
+        private volatile int longestRun; // Longest run of adjacent free seats, readable without the lock
+        private volatile int heldCount; // Bits set in held, readable without the lock
+
+        private Row(int size) {
+            this.size = size;
+            this.free = new BitSet(size);
+            this.held = new BitSet(size);
+        }
+
+        private synchronized void putOnSale(int from, int count) {
+            free.set(from, from + count);
+            longestRun = longestRun();
+        }
+
+        // Takes the block of count adjacent seats closest to the centre; returns its first seat or -1
+        private synchronized int take(int count, boolean hold) {
+            if (longestRun < count) {
+                return -1; // Taken by someone else since the unlocked check
+            }
+            double centre = size / 2.0;
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int start = free.nextSetBit(0); start >= 0; ) {
+                int end = Math.min(free.nextClearBit(start), size);
+                if (end - start >= count) {
+                    int candidate = (int) Math.max(start, Math.min(end - count, Math.round(centre - count / 2.0)));
+                    double distance = Math.abs(candidate + count / 2.0 - centre);
+                    if (distance < bestDistance) {
+                        best = candidate;
+                        bestDistance = distance;
+                    }
+                }
+                start = end < size ? free.nextSetBit(end) : -1;
+            }
+            if (best < 0) {
+                return -1;
+            }
+            free.clear(best, best + count);
+            if (hold) {
+                held.set(best);
+                heldCount++;
+            }
+            longestRun = longestRun();
+            return best;
+        }
+
+        // Sells or frees one held seat; false if the row has none left
+        private synchronized boolean takeHeld(boolean backOnSale) {
+            int seat = held.nextSetBit(0);
+            if (seat < 0) {
+                return false;
+            }
+            held.clear(seat);
+            heldCount--;
+            if (backOnSale) {
+                free.set(seat);
+                longestRun = longestRun();
+            }
+            return true;
+        }
+
+        private int longestRun() {
+            int longest = 0;
+            for (int start = free.nextSetBit(0); start >= 0; ) {
+                int end = Math.min(free.nextClearBit(start), size);
+                longest = Math.max(longest, end - start);
+                start = end < size ? free.nextSetBit(end) : -1;
+            }
+            return longest;
+        }
+    }
+
+    /**
+     * Shape of a venue.
+     *
+     * @param sections        Sections, searched in order.
+     * @param rowsPerSection  Rows in every section, front row first.
+     * @param seatsPerRow     Seats in every row; the largest block of adjacent seats that can be requested.
+     */
+    public record Layout(int sections, int rowsPerSection, int seatsPerRow) {
+        public static final Layout DEFAULT = new Layout(4, 250, 100); // 100,000 seats
+
+        public Layout {
+            sections = Math.max(1, sections);
+            rowsPerSection = Math.max(1, rowsPerSection);
+            seatsPerRow = Math.max(1, seatsPerRow);
+        }
+    }
+
+    /**
+     * Adjacent seats in one row; all numbers start at 1.
+     *
+     * @param section   Section of the row.
+     * @param row       Row within the section.
+     * @param firstSeat First seat of the block.
+     * @param count     Seats in the block, numbered firstSeat to firstSeat + count - 1.
+     */
+    public record SeatBlock(int section, int row, int firstSeat, int count) {
+    }
+}
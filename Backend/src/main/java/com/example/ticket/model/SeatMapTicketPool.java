@@ -0,0 +1,98 @@
+package com.example.ticket.model;
+
+/**
+ * Ticket pool whose tickets are real seats of a {@link SeatMap}.
+ * <p>
+ * Vendors put the next seats of the venue on sale, up to maxCapacity free and held seats at a time; once
+ * every seat was put on sale, adds are rejected. Single-ticket buys get a seat near the front, and orders
+ * of several tickets get adjacent seats in one row when one has room, otherwise the largest free blocks of
+ * the best rows. {@link #buySeats} sells one customer adjacent seats only and tells which seats were sold. A hold marks a particular seat; confirming or releasing a hold
+ * sells or frees one of the held seats, since holds are not tied to seat numbers by the pool API.
+ */
+public class SeatMapTicketPool extends AbstractTicketPool {
+    private final SeatMap seats; // Free, held and sold seats of the venue
+
+    public SeatMapTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener, SeatMap.Layout layout, int initialTickets) {
+        super(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, initialTickets);
+        this.seats = new SeatMap(totalTickets, layout, initialTickets());
+    }
+
+    @Override
+    public boolean addTicket(int vendorId) {
+        return addMultipleTickets(1, vendorId);
+    }
+
+    @Override
+    public boolean addMultipleTickets(int numberOfTickets, int vendorId) {
+        int allowed = admitRelease(vendorId, numberOfTickets);
+        if (allowed <= 0) {
+            return false; // Vendor reached its release cap
+        }
+        int ticketsAdded = seats.release(allowed, maxCapacity(), this::heldTickets);
+        settleRelease(vendorId, allowed, ticketsAdded);
+        if (ticketsAdded > 0) {
+            onTicketsAdded(vendorId, ticketsAdded, seats.getFreeSeats());
+            return true;
+        }
+        onAddRejected(vendorId, numberOfTickets);
+        return false;
+    }
+
+    /**
+     * Sells the best available block of adjacent seats to one customer.
+     *
+     * @return The seats sold, or null if no row has that many adjacent free seats or the customer's limits
+     * refused the purchase.
+     */
+    public SeatMap.SeatBlock buySeats(int customerId, int count) {
+        if (!admitPurchase(customerId, count)) {
+            return null;
+        }
+        int first = seats.takeAdjacent(count);
+        if (first < 0) {
+            refundPurchase(customerId, count);
+            onBuyFailed(customerId);
+            return null;
+        }
+        onTicketsBought(customerId, count, seats.getFreeSeats());
+        return seats.blockOf(first, count);
+    }
+
+    @Override
+    protected int takeTickets(int numberOfTickets) {
+        boolean taken = numberOfTickets == 1 ? seats.takeOne(slot()) >= 0 : seats.takeSeats(numberOfTickets);
+        return taken ? seats.getFreeSeats() : -1;
+    }
+
+    @Override
+    protected int takeHeldTicket() {
+        return seats.hold(slot()) >= 0 ? seats.getFreeSeats() : -1;
+    }
+
+    @Override
+    protected void sellHeldTicket() {
+        seats.sellHeld();
+    }
+
+    @Override
+    protected int returnTicket() {
+        seats.releaseHeld();
+        return seats.getFreeSeats();
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        return seats.getFreeSeats();
+    }
+
+    public SeatMap getSeatMap() {
+        return seats;
+    }
+
+    // Spreads single-seat buyers over the best few rows; a thread always gets the same slot
+    private static int slot() {
+        long mixed = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ticket.model;
+
+/**
+ * Immutable settings for one event's ticket pool and its simulated vendors and customers.
+ *
+ * @param totalTickets          Total tickets in the pool.
+ * @param ticketReleaseRate     Rate at which vendors release tickets (ms).
+ * @param customerRetrievalRate Rate at which customers retrieve tickets (ms).
+ * @param maxTicketCapacity     Maximum tickets available at a time.
+ * @param numberOfVendors       Number of simulated vendors.
+ * @param numberOfCustomers     Number of simulated customers.
+ */
+public record SimulationSettings(int totalTickets, int ticketReleaseRate, int customerRetrievalRate,
+                                 int maxTicketCapacity, int numberOfVendors, int numberOfCustomers) {
+
+    public static final int DEFAULT_PARTICIPANTS = 500; // Vendors or customers used when none are configured
+
+    public SimulationSettings {
+        numberOfVendors = numberOfVendors > 0 ? numberOfVendors : DEFAULT_PARTICIPANTS;
+        numberOfCustomers = numberOfCustomers > 0 ? numberOfCustomers : DEFAULT_PARTICIPANTS;
+    }
+
+    @Override
+    public String toString() {
+        return "Total Tickets = " + totalTickets +
+                ", Ticket Release Rate = " + ticketReleaseRate + "ms, Customer Retrieval Rate = " +
+                customerRetrievalRate + "ms, Max Ticket Capacity = " + maxTicketCapacity +
+                ", Vendors = " + numberOfVendors + ", Customers = " + numberOfCustomers;
+    }
+}
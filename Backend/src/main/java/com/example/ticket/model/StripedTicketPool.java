@@ -0,0 +1,253 @@
+package com.example.ticket.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free ticket pool whose inventory is split across several stripes so that concurrent buyers
+ * update different cache lines.
+ * <p>
+ * maxCapacity is divided between the stripes. Each stripe is one {@code long} packing its available tickets
+ * with the tickets reserved from it: held tickets and tickets of a multi-ticket order still being gathered.
+ * Both count against the stripe's share and every change is a single CAS, so a stripe never exceeds its share
+ * and available plus held never exceeds maxCapacity, even while adds, holds and releases run concurrently.
+ * Buyers take from the stripe picked by their thread and steal from the other stripes when it is empty;
+ * vendors refill the stripe with the most free room. A released hold turns a reserved ticket of some stripe
+ * back into an available one, so it never needs room that a vendor may have filled in the meantime.
+ * The available count is the sum of all stripes and is only exact while no operation is in flight.
+ * <p>
+ * Reconfiguring the capacity redistributes the shares over the existing stripes; the stripe count is fixed
+ * for the life of the pool. Stripes left above a lowered share keep their tickets and only stop accepting adds.
+ */
+public class StripedTicketPool extends AbstractTicketPool {
+    private static final int PADDING = 8; // Longs per stripe slot: 64 bytes, one cache line per stripe
+    private static final long AVAILABLE_MASK = 0xFFFFFFFFL; // Low half: available tickets; high half: reserved
+
+    private final AtomicLongArray counts; // Packed available and reserved tickets of stripe i at index i * PADDING
+    private volatile int[] capacities; // Share of maxCapacity owned by each stripe, replaced on reconfiguration
+    private final int stripes;
+
+    public StripedTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener, int stripes) {
+        this(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, stripes, -1);
+    }
+
+    public StripedTicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener, int stripes, int initialTickets) {
+        super(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, initialTickets);
+        this.stripes = Math.max(1, Math.min(stripes, Math.max(1, maxCapacity)));
+        this.counts = new AtomicLongArray(this.stripes * PADDING);
+        this.capacities = shares(maxCapacity, this.stripes);
+
+        // Spread initial tickets as evenly as possible
+        int initial = initialTickets();
+        for (int i = 0; i < this.stripes; i++) {
+            counts.set(i * PADDING, pack(initial / this.stripes + (i < initial % this.stripes ? 1 : 0), 0));
+        }
+    }
+
+    @Override
+    protected void onCapacityChanged(int maxCapacity) {
+        capacities = shares(maxCapacity, stripes);
+    }
+
+    @Override
+    public boolean addTicket(int vendorId) {
+        return addMultipleTickets(1, vendorId);
+    }
+
+    @Override
+    public boolean addMultipleTickets(int numberOfTickets, int vendorId) {
+        int allowed = admitRelease(vendorId, numberOfTickets);
+        if (allowed <= 0) {
+            return false; // Vendor reached its release cap
+        }
+        int remaining = allowed;
+        while (remaining > 0) {
+            int stripe = emptiestStripe();
+            if (stripe < 0) {
+                break; // All stripes are at their capacity, held tickets included
+            }
+            remaining -= tryPut(stripe, remaining);
+        }
+
+        int ticketsAdded = allowed - remaining;
+        settleRelease(vendorId, allowed, ticketsAdded);
+        if (ticketsAdded > 0) {
+            onTicketsAdded(vendorId, ticketsAdded, getAvailableTickets());
+            return true;
+        }
+        onAddRejected(vendorId, numberOfTickets);
+        return false;
+    }
+
+    @Override
+    protected int takeTickets(int numberOfTickets) {
+        int home = homeStripe();
+        if (numberOfTickets == 1) {
+            for (int i = 0; i < stripes; i++) {
+                int stripe = home + i < stripes ? home + i : home + i - stripes; // Home first, then steal
+                if (tryTake(stripe, 1, false) == 1) {
+                    return getAvailableTickets();
+                }
+            }
+            return -1;
+        }
+
+        // Gather from every stripe as reserved tickets, which keep their room; then sell them or give them back
+        int remaining = numberOfTickets;
+        for (int i = 0; i < stripes && remaining > 0; i++) {
+            int stripe = home + i < stripes ? home + i : home + i - stripes;
+            remaining -= tryTake(stripe, remaining, true);
+        }
+        boolean complete = remaining == 0;
+        unreserve(numberOfTickets - remaining, !complete);
+        return complete ? getAvailableTickets() : -1;
+    }
+
+    @Override
+    protected int takeHeldTicket() {
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            int stripe = home + i < stripes ? home + i : home + i - stripes;
+            if (tryTake(stripe, 1, true) == 1) {
+                return getAvailableTickets();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected void sellHeldTicket() {
+        unreserve(1, false);
+    }
+
+    @Override
+    protected int returnTicket() {
+        unreserve(1, true); // Back in a stripe whose share already counts it
+        return getAvailableTickets();
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        int available = 0;
+        for (int i = 0; i < stripes; i++) {
+            available += available(counts.get(i * PADDING));
+        }
+        return available;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    // Splits a capacity as evenly as possible between the stripes
+    private static int[] shares(int maxCapacity, int stripes) {
+        int[] shares = new int[stripes];
+        for (int i = 0; i < stripes; i++) {
+            shares[i] = maxCapacity / stripes + (i < maxCapacity % stripes ? 1 : 0);
+        }
+        return shares;
+    }
+
+    // Whether every stripe holds no more available and reserved tickets than its share; each stripe is read once
+    boolean isWithinShares() {
+        int[] shares = capacities;
+        for (int i = 0; i < stripes; i++) {
+            long packed = counts.get(i * PADDING);
+            if (available(packed) + reserved(packed) > shares[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Removes up to the requested number of available tickets from a stripe, keeping them as reserved if asked;
+    // returns how many were removed
+    private int tryTake(int stripe, int requested, boolean reserve) {
+        int index = stripe * PADDING;
+        long current;
+        int taken;
+        do {
+            current = counts.get(index);
+            taken = Math.min(requested, available(current));
+            if (taken <= 0) {
+                return 0;
+            }
+        } while (!counts.compareAndSet(index, current,
+                pack(available(current) - taken, reserved(current) + (reserve ? taken : 0))));
+        return taken;
+    }
+
+    // Releases reserved tickets, making them available again or dropping them as sold. Reserved tickets are
+    // interchangeable and the caller's own are counted in some stripe, so this finds enough; only a release
+    // without a matching reservation gives up, after two passes that found nothing
+    private void unreserve(int numberOfTickets, boolean makeAvailable) {
+        int remaining = numberOfTickets;
+        int stripe = homeStripe();
+        int emptyStripes = 0; // Stripes in a row seen without reserved tickets
+        while (remaining > 0 && emptyStripes < 2 * stripes) {
+            int index = stripe * PADDING;
+            long current = counts.get(index);
+            int released = Math.min(remaining, reserved(current));
+            if (released <= 0) {
+                emptyStripes++;
+                stripe = stripe + 1 < stripes ? stripe + 1 : 0;
+            } else if (counts.compareAndSet(index, current,
+                    pack(available(current) + (makeAvailable ? released : 0), reserved(current) - released))) {
+                remaining -= released;
+                emptyStripes = 0;
+            }
+        }
+    }
+
+    // Adds up to the requested number of tickets to a stripe, bounded by its share minus its available and
+    // reserved tickets; returns how many were added
+    private int tryPut(int stripe, int requested) {
+        int index = stripe * PADDING;
+        long current;
+        int added;
+        do {
+            current = counts.get(index);
+            // Negative above a lowered share
+            added = Math.min(requested, capacities[stripe] - available(current) - reserved(current));
+            if (added <= 0) {
+                return 0;
+            }
+        } while (!counts.compareAndSet(index, current, pack(available(current) + added, reserved(current))));
+        return added;
+    }
+
+    // Stripe with the most free room, or -1 if every stripe is full
+    private int emptiestStripe() {
+        int[] shares = capacities;
+        int best = -1;
+        int bestRoom = 0;
+        for (int i = 0; i < stripes; i++) {
+            long packed = counts.get(i * PADDING);
+            int room = shares[i] - available(packed) - reserved(packed);
+            if (room > bestRoom) {
+                best = i;
+                bestRoom = room;
+            }
+        }
+        return best;
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) reserved << 32) | (available & AVAILABLE_MASK);
+    }
+
+    private static int available(long packed) {
+        return (int) packed;
+    }
+
+    private static int reserved(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    // Spreads threads over the stripes; a thread always starts at the same stripe
+    private int homeStripe() {
+        long mixed = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) ((mixed >>> 32) % stripes);
+    }
+}
@@ -5,12 +5,20 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
 
 @Entity // Marks this class as a JPA entity mapped to a database table
+@Table(indexes = @Index(columnList = "name, is_available")) // Finds an event's unsold tickets
 public class Ticket {
 
     @Id // Denotes the primary key field
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-generate primary key values
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    // Pooled sequence: ids are handed out in blocks without a round trip, so inserts can be JDBC-batched
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false) // Ensures the column cannot have null values
@@ -22,6 +30,14 @@ public class Ticket {
     @Column(nullable = false) // Ensures the column cannot have null values
     private boolean isAvailable; // Indicates if the ticket is available
 
+    private Integer vendorId; // Vendor that released the ticket, null for the initial inventory
+
+    private Integer customerId; // Customer that bought the ticket, null while unsold or withdrawn
+
+    private Instant releasedAt; // When the ticket entered the pool
+
+    private Instant soldAt; // When the ticket was bought, null while unsold
+
     // Default constructor required by JPA
     public Ticket() {
     }
@@ -67,6 +83,38 @@ public class Ticket {
         isAvailable = available;
     }
 
+    public Integer getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Integer vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Integer customerId) {
+        this.customerId = customerId;
+    }
+
+    public Instant getReleasedAt() {
+        return releasedAt;
+    }
+
+    public void setReleasedAt(Instant releasedAt) {
+        this.releasedAt = releasedAt;
+    }
+
+    public Instant getSoldAt() {
+        return soldAt;
+    }
+
+    public void setSoldAt(Instant soldAt) {
+        this.soldAt = soldAt;
+    }
+
     @Override
     public String toString() {
         // Provides a readable string representation of the object for logging or debugging
@@ -75,6 +123,8 @@ public class Ticket {
                 ", name='" + name + '\'' +
                 ", price=" + price +
                 ", isAvailable=" + isAvailable +
+                ", vendorId=" + vendorId +
+                ", customerId=" + customerId +
                 '}';
     }
 }
@@ -1,137 +1,61 @@
 package com.example.ticket.model;
 
-import com.example.ticket.service.LogService;
-import com.example.ticket.controller.WebSocketController;
-
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-
-public class TicketPool {
-    private final int totalTickets; // Total tickets in the pool
-    private final int maxCapacity; // Maximum tickets that can be available at a time
-    private final int ticketReleaseRate; // Rate of releasing tickets (ms)
-    private final int customerRetrievalRate; // Rate of ticket retrieval by customers (ms)
-    private int availableTickets; // Current number of available tickets
-    private boolean running; // System state (running or stopped)
-
-    private final Lock lock = new ReentrantLock(); // Ensures thread-safe operations
-    private final LogService logService; // Logs system activity
-    private final WebSocketController webSocketController; // Sends updates via WebSocket
-
-    // Constructor initializes ticket pool with configuration and dependencies
-    public TicketPool(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
-                      LogService logService, WebSocketController webSocketController) {
-        this.totalTickets = totalTickets;
-        this.maxCapacity = maxCapacity;
-        this.ticketReleaseRate = ticketReleaseRate;
-        this.customerRetrievalRate = customerRetrievalRate;
-        this.availableTickets = Math.min(totalTickets, maxCapacity); // Initial ticket count
-        this.logService = logService;
-        this.webSocketController = webSocketController;
-        this.running = false; // System starts in a stopped state
-    }
+/**
+ * Shared pool of tickets that vendors release into and customers buy from.
+ * Implementations differ only in how they keep the available count consistent;
+ * logging and WebSocket notifications always happen outside the critical section.
+ */
+public interface TicketPool {
 
     // Starts the ticket system
-    public void start() {
-        running = true;
-        logService.addLog("System started.");
-    }
+    void start();
 
     // Stops the ticket system
-    public void stop() {
-        running = false;
-        logService.addLog("System stopped.");
-    }
+    void stop();
 
     // Adds a single ticket by a vendor, if capacity allows
-    public boolean addTicket(int vendorId) {
-        lock.lock();
-        try {
-            if (availableTickets < maxCapacity) {
-                availableTickets++;
-                String logMessage = "Vendor " + vendorId + " added a ticket. Available tickets: " + availableTickets;
-                logService.addLog(logMessage);
-                webSocketController.sendLogUpdate("/topic/logs", logMessage); // Notify via WebSocket
-                notifyTicketAvailability(); // Broadcast ticket availability
-                return true;
-            }
-            return false;
-        } finally {
-            lock.unlock();
-        }
-    }
+    boolean addTicket(int vendorId);
 
     // Allows a customer to buy a ticket if available
-    public boolean buyTicket(int customerId) {
-        lock.lock();
-        try {
-            if (availableTickets > 0) {
-                availableTickets--;
-                String logMessage = "Customer " + customerId + " bought a ticket. Available tickets: " + availableTickets;
-                logService.addLog(logMessage);
-                webSocketController.sendLogUpdate("/topic/logs", logMessage); // Notify via WebSocket
-                notifyTicketAvailability(); // Broadcast ticket availability
-                return true;
-            }
-            return false;
-        } finally {
-            lock.unlock();
-        }
-    }
+    boolean buyTicket(int customerId);
+
+    // Sells quantities[i] tickets to customerIds[i] for every i as one operation; either all are sold or none
+    boolean buyTickets(int[] customerIds, int[] quantities);
 
     // Adds multiple tickets by a vendor, up to max capacity
-    public boolean addMultipleTickets(int numberOfTickets, int vendorId) {
-        lock.lock();
-        try {
-            int ticketsAdded = 0;
-            for (int i = 0; i < numberOfTickets; i++) {
-                if (availableTickets < maxCapacity) {
-                    availableTickets++;
-                    ticketsAdded++;
-                } else {
-                    break; // Stop if max capacity is reached
-                }
-            }
-
-            if (ticketsAdded > 0) {
-                String logMessage = "Vendor " + vendorId + " added " + ticketsAdded + " tickets. Available tickets: " + availableTickets;
-                logService.addLog(logMessage);
-                webSocketController.sendLogUpdate("/topic/logs", logMessage); // Notify via WebSocket
-                notifyTicketAvailability(); // Broadcast ticket availability
-                return true;
-            }
-            return false;
-        } finally {
-            lock.unlock();
-        }
-    }
-
-    // Broadcasts ticket availability to connected WebSocket clients
-    private void notifyTicketAvailability() {
-        String availabilityUpdate = String.format("{\"totalTickets\": %d, \"availableTickets\": %d}",
-                totalTickets, availableTickets);
-        webSocketController.sendLogUpdate("/topic/ticketAvailability", availabilityUpdate);
-    }
+    boolean addMultipleTickets(int numberOfTickets, int vendorId);
+
+    // Takes a ticket out of the available inventory for a customer's checkout; it keeps counting against capacity
+    boolean holdTicket(int customerId);
+
+    // Same as holdTicket, but says why a hold was refused
+    HoldOutcome tryHoldTicket(int customerId);
+
+    // Turns a held ticket into a sale
+    void confirmHold(int customerId);
+
+    // Returns a held ticket to the available inventory
+    void releaseHold(int customerId);
+
+    // Replaces capacity and rates of a running pool; tickets above a lowered capacity stay available
+    void reconfigure(int maxCapacity, int ticketReleaseRate, int customerRetrievalRate);
+
+    // Installs the per-participant limits checked before each purchase, hold and release; null removes them
+    void setLimiter(ParticipantLimiter limiter);
 
     // Returns whether the system is running
-    public boolean isRunning() {
-        return running;
-    }
+    boolean isRunning();
 
     // Getters for ticket pool configuration and state
-    public int getTotalTickets() {
-        return totalTickets;
-    }
+    int getTotalTickets();
+
+    int getMaxCapacity();
+
+    int getAvailableTickets();
 
-    public int getAvailableTickets() {
-        return availableTickets;
-    }
+    int getHeldTickets();
 
-    public int getTicketReleaseRate() {
-        return ticketReleaseRate;
-    }
+    int getTicketReleaseRate();
 
-    public int getCustomerRetrievalRate() {
-        return customerRetrievalRate;
-    }
+    int getCustomerRetrievalRate();
 }
@@ -0,0 +1,164 @@
+package com.example.ticket.model;
+
+/**
+ * Receives ticket pool events. Pools call these methods after the available count has been updated
+ * and outside any lock, so implementations may log, broadcast or persist without slowing other callers.
+ * All methods default to doing nothing.
+ */
+public interface TicketPoolListener {
+
+    // Called when the pool is started
+    default void onStarted(TicketPool pool) {
+    }
+
+    // Called when the pool is stopped
+    default void onStopped(TicketPool pool) {
+    }
+
+    // Called after a vendor added tickets; available is the count right after the change
+    default void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+    }
+
+    // Called after a customer bought a ticket; available is the count right after the change
+    default void onTicketBought(TicketPool pool, int customerId, int available) {
+    }
+
+    // Called after a bulk purchase sold quantity tickets to a customer; by default reported as single sales
+    default void onTicketsBought(TicketPool pool, int customerId, int quantity, int available) {
+        for (int i = 0; i < quantity; i++) {
+            onTicketBought(pool, customerId, available);
+        }
+    }
+
+    // Called after a customer put a ticket on hold; available is the count right after the change
+    default void onTicketHeld(TicketPool pool, int customerId, int available) {
+    }
+
+    // Called after a held ticket was confirmed; by default reported as a sale
+    default void onHoldConfirmed(TicketPool pool, int customerId, int available) {
+        onTicketBought(pool, customerId, available);
+    }
+
+    // Called after a held ticket went back to the available inventory; available is the count right after the change
+    default void onHoldReleased(TicketPool pool, int customerId, int available) {
+    }
+
+    // Called when a customer could not buy because no ticket was available
+    default void onBuyFailed(TicketPool pool, int customerId) {
+    }
+
+    // Called when a vendor could not add any of the requested tickets because the pool is at max capacity
+    default void onAddRejected(TicketPool pool, int vendorId, int requested) {
+    }
+
+    // Called when a customer's purchase or hold was refused by its limits before any ticket was taken
+    default void onPurchaseRejected(TicketPool pool, int customerId, ParticipantLimiter.Rejection rejection) {
+    }
+
+    // Called when a vendor could not add any of the requested tickets because it reached its release cap
+    default void onReleaseRejected(TicketPool pool, int vendorId, int requested) {
+    }
+
+    // Called by lock-based pools after each locked section with the time spent waiting for and holding the lock
+    default void onLockTimed(TicketPool pool, long waitNanos, long holdNanos) {
+    }
+
+    /**
+     * Returns a listener forwarding every event to each of the given listeners, in order.
+     */
+    static TicketPoolListener composite(TicketPoolListener... listeners) {
+        TicketPoolListener[] targets = listeners.clone();
+        return new TicketPoolListener() {
+            @Override
+            public void onStarted(TicketPool pool) {
+                for (TicketPoolListener target : targets) {
+                    target.onStarted(pool);
+                }
+            }
+
+            @Override
+            public void onStopped(TicketPool pool) {
+                for (TicketPoolListener target : targets) {
+                    target.onStopped(pool);
+                }
+            }
+
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                for (TicketPoolListener target : targets) {
+                    target.onTicketsAdded(pool, vendorId, ticketsAdded, available);
+                }
+            }
+
+            @Override
+            public void onTicketBought(TicketPool pool, int customerId, int available) {
+                for (TicketPoolListener target : targets) {
+                    target.onTicketBought(pool, customerId, available);
+                }
+            }
+
+            @Override
+            public void onTicketsBought(TicketPool pool, int customerId, int quantity, int available) {
+                for (TicketPoolListener target : targets) {
+                    target.onTicketsBought(pool, customerId, quantity, available);
+                }
+            }
+
+            @Override
+            public void onTicketHeld(TicketPool pool, int customerId, int available) {
+                for (TicketPoolListener target : targets) {
+                    target.onTicketHeld(pool, customerId, available);
+                }
+            }
+
+            @Override
+            public void onHoldConfirmed(TicketPool pool, int customerId, int available) {
+                for (TicketPoolListener target : targets) {
+                    target.onHoldConfirmed(pool, customerId, available);
+                }
+            }
+
+            @Override
+            public void onHoldReleased(TicketPool pool, int customerId, int available) {
+                for (TicketPoolListener target : targets) {
+                    target.onHoldReleased(pool, customerId, available);
+                }
+            }
+
+            @Override
+            public void onBuyFailed(TicketPool pool, int customerId) {
+                for (TicketPoolListener target : targets) {
+                    target.onBuyFailed(pool, customerId);
+                }
+            }
+
+            @Override
+            public void onAddRejected(TicketPool pool, int vendorId, int requested) {
+                for (TicketPoolListener target : targets) {
+                    target.onAddRejected(pool, vendorId, requested);
+                }
+            }
+
+            @Override
+            public void onPurchaseRejected(TicketPool pool, int customerId, ParticipantLimiter.Rejection rejection) {
+                for (TicketPoolListener target : targets) {
+                    target.onPurchaseRejected(pool, customerId, rejection);
+                }
+            }
+
+            @Override
+            public void onReleaseRejected(TicketPool pool, int vendorId, int requested) {
+                for (TicketPoolListener target : targets) {
+                    target.onReleaseRejected(pool, vendorId, requested);
+                }
+            }
+
+            @Override
+            public void onLockTimed(TicketPool pool, long waitNanos, long holdNanos) {
+                for (TicketPoolListener target : targets) {
+                    target.onLockTimed(pool, waitNanos, holdNanos);
+                }
+            }
+        };
+    }
+}
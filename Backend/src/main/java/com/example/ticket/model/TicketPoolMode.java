@@ -0,0 +1,55 @@
+package com.example.ticket.model;
+
+/**
+ * Available ticket pool implementations, selected with the {@code ticket.pool.mode} property.
+ */
+public enum TicketPoolMode {
+
+    LOCKING, // Reference mode: every operation runs under one ReentrantLock
+    ATOMIC, // Lock-free mode: CAS on an atomic counter bounded by maxCapacity
+    STRIPED, // Lock-free mode with inventory split across stripes and work stealing between them
+    SEATED; // Seat-map mode: tickets are seats, orders get adjacent seats where a row has room, locks are per row
+
+    /**
+     * Creates a new pool of this mode with the given configuration and listener.
+     */
+    public TicketPool create(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener) {
+        return create(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, 0);
+    }
+
+    /**
+     * Creates a new pool of this mode; {@code stripes} is only used by STRIPED, 0 means one stripe per core.
+     */
+    public TicketPool create(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener, int stripes) {
+        return create(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, stripes, -1);
+    }
+
+    /**
+     * Creates a new pool of this mode that starts with {@code initialTickets} available instead of
+     * {@code totalTickets} (capped at maxCapacity); -1 keeps the default.
+     */
+    public TicketPool create(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener, int stripes, int initialTickets) {
+        return create(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate, listener, stripes,
+                initialTickets, SeatMap.Layout.DEFAULT);
+    }
+
+    /**
+     * Creates a new pool of this mode; {@code layout} is only used by SEATED and grows to fit totalTickets.
+     */
+    public TicketPool create(int totalTickets, int maxCapacity, int ticketReleaseRate, int customerRetrievalRate,
+                             TicketPoolListener listener, int stripes, int initialTickets, SeatMap.Layout layout) {
+        return switch (this) {
+            case LOCKING -> new LockingTicketPool(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate,
+                    listener, initialTickets);
+            case ATOMIC -> new AtomicTicketPool(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate,
+                    listener, initialTickets);
+            case STRIPED -> new StripedTicketPool(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate,
+                    listener, stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors(), initialTickets);
+            case SEATED -> new SeatMapTicketPool(totalTickets, maxCapacity, ticketReleaseRate, customerRetrievalRate,
+                    listener, layout, initialTickets);
+        };
+    }
+}
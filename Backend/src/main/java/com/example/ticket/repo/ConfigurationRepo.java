@@ -3,9 +3,14 @@ package com.example.ticket.repo;
 import com.example.ticket.model.ConfigurationManager;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 /**
  * Repository interface for performing CRUD operations on the ConfigurationManager entity.
  */
 public interface ConfigurationRepo extends JpaRepository<ConfigurationManager, Long> {
     // JpaRepository provides basic CRUD operations and query methods out of the box.
+
+    // The stored configuration; the newest row if an older version left several behind
+    Optional<ConfigurationManager> findTopByOrderByIdDesc();
 }
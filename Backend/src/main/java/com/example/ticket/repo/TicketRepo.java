@@ -2,6 +2,9 @@ package com.example.ticket.repo;
 
 import com.example.ticket.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -10,4 +13,9 @@ import org.springframework.stereotype.Repository;
 @Repository // Indicates that this interface is a Spring-managed repository
 public interface TicketRepo extends JpaRepository<Ticket, Long> {
     // JpaRepository provides out-of-the-box CRUD operations and query methods for Ticket entities.
+
+    // Marks every unsold ticket of an event as no longer available, e.g. when the event is restarted
+    @Modifying
+    @Query("update Ticket t set t.isAvailable = false where t.name = :name and t.isAvailable = true")
+    int withdrawAvailable(@Param("name") String name);
 }
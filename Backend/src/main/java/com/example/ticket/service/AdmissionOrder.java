@@ -0,0 +1,22 @@
+package com.example.ticket.service;
+
+import java.util.Comparator;
+
+/**
+ * Order in which a {@link WaitingRoom} admits waiting customers, selected with the
+ * {@code ticket.waiting-room.order} property.
+ */
+public enum AdmissionOrder {
+
+    FIFO, // Strictly in arrival order
+    PRIORITY; // Lowest priority value first, arrival order among equal priorities
+
+    // Comparator for waiters of this order
+    Comparator<WaitingRoom.Waiter> comparator() {
+        Comparator<WaitingRoom.Waiter> arrival = Comparator.comparingLong(WaitingRoom.Waiter::sequence);
+        return switch (this) {
+            case FIFO -> arrival;
+            case PRIORITY -> Comparator.comparingInt(WaitingRoom.Waiter::priority).thenComparing(arrival);
+        };
+    }
+}
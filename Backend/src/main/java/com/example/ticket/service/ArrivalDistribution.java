@@ -0,0 +1,30 @@
+package com.example.ticket.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * How the {@link LoadGenerator} spaces vendor and customer arrivals around their target rate, selected with
+ * the {@code ticket.load.distribution} property. Every distribution has the same mean rate.
+ */
+public enum ArrivalDistribution {
+
+    CONSTANT, // Evenly spaced arrivals
+    POISSON, // Exponentially distributed gaps: independent arrivals at random times
+    BURST; // burst-size arrivals at once, then a pause long enough to keep the mean rate
+
+    /**
+     * Time from one arrival to the next.
+     *
+     * @param meanGapNanos Average gap, 1e9 / target rate.
+     * @param burstSize    Arrivals per burst for BURST.
+     * @param arrival      Number of arrivals so far in this stream.
+     * @param random       Seeded source; only POISSON draws from it.
+     */
+    double nextGapNanos(double meanGapNanos, int burstSize, long arrival, SplittableRandom random) {
+        return switch (this) {
+            case CONSTANT -> meanGapNanos;
+            case POISSON -> -Math.log(1.0 - random.nextDouble()) * meanGapNanos;
+            case BURST -> (arrival + 1) % burstSize == 0 ? meanGapNanos * burstSize : 0;
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ticket.service;
+
+import com.example.ticket.controller.WebSocketController;
+import com.example.ticket.model.TicketPool;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces ticket availability changes and publishes only the latest state of each topic,
+ * at most once per broadcast interval. Sold-out and restock transitions are published immediately.
+ */
+@Service // Marks this as a Spring-managed service component
+public class AvailabilityBroadcaster {
+
+    private final WebSocketController webSocketController; // Publishes availability to subscribers
+    private final TicketStream ticketStream; // Streams availability to SSE subscribers
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>(); // One channel per topic
+    private final ScheduledExecutorService scheduler; // Single thread doing all flushes
+
+    /**
+     * Constructor for AvailabilityBroadcaster.
+     *
+     * @param webSocketController The WebSocket controller used for publishing.
+     * @param ticketStream        The SSE stream that also receives every published update.
+     * @param intervalMs          Minimum time between two regular broadcasts of the same topic.
+     */
+    public AvailabilityBroadcaster(WebSocketController webSocketController, TicketStream ticketStream,
+                                   @Value("${ticket.broadcast.interval-ms:50}") int intervalMs) {
+        this.webSocketController = webSocketController;
+        this.ticketStream = ticketStream;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, intervalMs);
+        scheduler.scheduleAtFixedRate(this::flushAll, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the channel publishing to the given topic, creating it on first use.
+     *
+     * @param topic   The WebSocket topic, e.g. "/topic/ticketAvailability".
+     * @param eventId The event whose availability is published, carried in binary frames.
+     */
+    public Channel channel(String topic, String eventId) {
+        return channels.computeIfAbsent(topic, t -> new Channel(t, eventId));
+    }
+
+    /**
+     * Stops publishing to the given topic.
+     */
+    public void removeChannel(String topic) {
+        channels.remove(topic);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Serializes an availability update in the format clients expect.
+     */
+    public static String toJson(int totalTickets, int availableTickets) {
+        return "{\"totalTickets\": " + totalTickets + ", \"availableTickets\": " + availableTickets + "}";
+    }
+
+    private void flushAll() {
+        for (Channel channel : channels.values()) {
+            try {
+                channel.flush();
+            } catch (RuntimeException e) {
+                System.err.println("Availability broadcast to " + channel.topic + " failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * Latest-state holder for one topic. {@link #changed} only marks the channel dirty;
+     * the broadcaster thread reads the current counts from the pool when it publishes.
+     */
+    public final class Channel {
+        private final String topic;
+        private final String eventId;
+        private final AtomicBoolean dirty = new AtomicBoolean(); // Set by pool threads, cleared on publish
+        private final AtomicBoolean urgent = new AtomicBoolean(); // An immediate flush is already scheduled
+        private volatile TicketPool source; // Pool whose state is published
+
+        // Broadcaster thread state
+        private int lastTotal = -1;
+        private int lastAvailable = -1;
+        private long sequence; // Number of updates published, lets binary clients spot gaps
+
+        private Channel(String topic, String eventId) {
+            this.topic = topic;
+            this.eventId = eventId;
+        }
+
+        /**
+         * Records that the pool's availability changed.
+         *
+         * @param pool       The pool whose state should be published.
+         * @param transition True when the pool just sold out or was restocked; publishes without waiting for the next tick.
+         */
+        public void changed(TicketPool pool, boolean transition) {
+            if (source != pool) {
+                source = pool;
+            }
+            if (!dirty.get()) { // Avoid writing the shared flag when it is already set
+                dirty.set(true);
+            }
+            if (transition && urgent.compareAndSet(false, true)) {
+                try {
+                    scheduler.execute(() -> {
+                        urgent.set(false);
+                        flush();
+                    });
+                } catch (RuntimeException e) {
+                    urgent.set(false); // Broadcaster is shutting down; the update is simply skipped
+                }
+            }
+        }
+
+        private void flush() {
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            TicketPool pool = source;
+            int total = pool.getTotalTickets();
+            int available = pool.getAvailableTickets();
+            if (total == lastTotal && available == lastAvailable) {
+                return; // Changes cancelled out since the last broadcast
+            }
+            lastTotal = total;
+            lastAvailable = available;
+            webSocketController.sendAvailability(topic, eventId, ++sequence, total, available);
+            ticketStream.publishAvailability(eventId, total, available);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.ticket.service;
 
 import com.example.ticket.model.ConfigurationManager;
+import com.example.ticket.model.ConfigurationSnapshot;
+import com.example.ticket.model.SimulationSettings;
 import com.example.ticket.repo.ConfigurationRepo;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Supplier;
+
 /**
  * Service class for managing configurations related to the ticket system.
+ * <p>
+ * The database is read once at startup. After that the current configuration is an immutable
+ * {@link ConfigurationSnapshot} held in memory: {@link #saveConfiguration}, {@link #updateRates} and
+ * {@link #resetConfiguration} write through to the database and then swap in a new snapshot, and readers never query the database.
+ * The database keeps a single configuration row that every save updates; the version only lives in the snapshot.
  */
 @Service // Marks this class as a Spring-managed service component
 public class ConfigurationService {
@@ -14,24 +24,79 @@ public class ConfigurationService {
     @Autowired // Injects the ConfigurationRepo dependency
     private ConfigurationRepo configurationRepo;
 
+    private volatile ConfigurationSnapshot snapshot; // Current configuration, null until one is saved
+    private Long configurationId; // Id of the stored configuration row, null until one is saved, guarded by this
+
+    /**
+     * Loads the most recently saved configuration, if any.
+     */
+    @PostConstruct
+    public synchronized void loadSnapshot() {
+        ConfigurationManager stored = configurationRepo.findTopByOrderByIdDesc().orElse(null);
+        configurationId = stored != null ? stored.getId() : null;
+        snapshot = stored != null ? ConfigurationSnapshot.of(1, stored) : null;
+    }
+
     /**
-     * Saves the given configuration to the database.
+     * Saves the given configuration to the database and makes it the current snapshot.
      *
      * @param configurationManager The configuration to save.
      * @return The saved ConfigurationManager object.
      */
-    public ConfigurationManager saveConfiguration(ConfigurationManager configurationManager) {
-        return configurationRepo.save(configurationManager); // Persist configuration to the database
+    public synchronized ConfigurationManager saveConfiguration(ConfigurationManager configurationManager) {
+        return store(ConfigurationSnapshot.of(0, configurationManager).settings());
+    }
+
+    // Writes settings to the stored row and makes them the current snapshot; caller holds this service's lock
+    private ConfigurationManager store(SimulationSettings settings) {
+        ConfigurationManager row = new ConfigurationManager(); // Callers' entities are left untouched
+        row.setId(configurationId); // Update the stored row
+        row.setTotalTickets(settings.totalTickets());
+        row.setTicketReleaseRate(settings.ticketReleaseRate());
+        row.setCustomerRetrievalRate(settings.customerRetrievalRate());
+        row.setMaxTicketCapacity(settings.maxTicketCapacity());
+        row.setNumberOfVendors(settings.numberOfVendors());
+        row.setNumberOfCustomers(settings.numberOfCustomers());
+        ConfigurationManager saved = configurationRepo.save(row); // Persist configuration to the database
+        configurationId = saved.getId();
+        ConfigurationSnapshot previous = snapshot;
+        snapshot = ConfigurationSnapshot.of(previous != null ? previous.version() + 1 : 1, saved);
+        return saved;
+    }
+
+    /**
+     * Applies new rates and capacity to the running system and saves them, as one step under this service's
+     * lock, so that concurrent changes are saved in the order they were applied. Total tickets and participant
+     * counts keep their saved values; if nothing was saved yet they are taken from the applied settings.
+     *
+     * @param apply Applies the change and returns the settings now in effect; if it throws, nothing is saved.
+     * @return The saved ConfigurationManager object.
+     */
+    public synchronized ConfigurationManager updateRates(int ticketReleaseRate, int customerRetrievalRate,
+                                                         int maxTicketCapacity, Supplier<SimulationSettings> apply) {
+        SimulationSettings applied = apply.get();
+        SimulationSettings base = snapshot != null ? snapshot.settings() : applied;
+        return store(new SimulationSettings(base.totalTickets(), ticketReleaseRate, customerRetrievalRate,
+                maxTicketCapacity, base.numberOfVendors(), base.numberOfCustomers()));
+    }
+
+    /**
+     * Current configuration, read from memory.
+     *
+     * @return The current snapshot, or null if no configuration has been saved.
+     */
+    public ConfigurationSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
-     * Loads the configuration from the database.
-     * Assumes a single configuration entry with ID = 1.
+     * Returns the current configuration without querying the database.
      *
-     * @return The loaded ConfigurationManager object, or null if not found.
+     * @return A detached copy of the current configuration, or null if none has been saved.
      */
     public ConfigurationManager loadConfiguration() {
-        return configurationRepo.findById(1L).orElse(null); // Fetch configuration with ID = 1
+        ConfigurationSnapshot current = snapshot;
+        return current != null ? current.toConfigurationManager() : null;
     }
 
     /**
@@ -46,7 +111,9 @@ public class ConfigurationService {
         defaultConfig.setTicketReleaseRate(500);
         defaultConfig.setCustomerRetrievalRate(3000);
         defaultConfig.setMaxTicketCapacity(50);
+        defaultConfig.setNumberOfVendors(500);
+        defaultConfig.setNumberOfCustomers(500);
 
-        return configurationRepo.save(defaultConfig); // Save and return the default configuration
+        return saveConfiguration(defaultConfig); // Save and return the default configuration
     }
 }
@@ -0,0 +1,294 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.ParticipantLimiter;
+import com.example.ticket.model.SeatMap;
+import com.example.ticket.model.SimulationSettings;
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.model.TicketPoolMode;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticket pool and simulated vendors and customers of a single event.
+ * Instances are created lazily by {@link TicketService} and discarded once they have been idle for a while.
+ * <p>
+ * Stopping a run drains it: arrivals stop, the pool stops, and operations already handed to participants
+ * get until the drain timeout to finish. Stragglers are reported and interrupted together with their
+ * executor; otherwise the next run reuses the same warm threads. The pool and waiting room of a run are
+ * published together as one {@link Run}, so readers never pair one run's pool with another run's room.
+ */
+public class EventSimulation {
+    private final String eventId; // Event this simulation belongs to
+    private final TicketPoolMode poolMode; // Ticket pool implementation to create on start
+    private final int poolStripes; // Stripe count for STRIPED pools, 0 for one per core
+    private final SeatMap.Layout seatLayout; // Venue shape for SEATED pools
+    private final ExecutionMode executionMode; // How vendor and customer participants are scheduled
+    private final TicketPoolListener listener; // Logs and broadcasts this event's pool activity
+    private final LogService logService; // Service for logging system events
+    private final boolean customersWait; // Whether simulated customers queue in the waiting room instead of retrying
+    private final int waitingRoomCapacity; // Maximum customers in the waiting room of a run
+    private final AdmissionOrder admissionOrder; // Order in which the waiting room admits customers
+    private final LoadGenerator.Profile loadProfile; // Load settings; negative rates are derived from each run's settings
+    private final ParticipantLimiter.Policy limitPolicy; // Per-customer and per-vendor limits of each run
+    private final long drainTimeoutNanos; // How long a stop waits for in-flight participant operations
+    private final ParticipantExecutor participants; // Participant threads, kept across runs
+
+    private volatile Run run; // Pool and waiting room of the current or last run, written under this
+    private LoadGenerator loadGenerator; // Arrivals of the current run, guarded by this
+    private volatile LoadGenerator.Report lastReport; // Load report of the last finished run
+    private boolean evicted; // Set once the registry dropped this simulation, guarded by this
+    private volatile long lastActivityMillis = System.currentTimeMillis(); // Last start, stop or vendor add
+
+    public EventSimulation(String eventId, TicketPoolMode poolMode, int poolStripes, SeatMap.Layout seatLayout,
+                           ExecutionMode executionMode, TicketPoolListener listener, LogService logService,
+                           boolean customersWait, int waitingRoomCapacity, AdmissionOrder admissionOrder,
+                           LoadGenerator.Profile loadProfile, ParticipantLimiter.Policy limitPolicy,
+                           long drainTimeoutMillis, long threadKeepAliveMillis) {
+        this.eventId = eventId;
+        this.poolMode = poolMode;
+        this.poolStripes = poolStripes;
+        this.seatLayout = seatLayout;
+        this.executionMode = executionMode;
+        this.listener = listener;
+        this.logService = logService;
+        this.customersWait = customersWait;
+        this.waitingRoomCapacity = waitingRoomCapacity;
+        this.admissionOrder = admissionOrder;
+        this.loadProfile = loadProfile;
+        this.limitPolicy = limitPolicy;
+        this.drainTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, drainTimeoutMillis));
+        this.participants = new ParticipantExecutor(executionMode, threadKeepAliveMillis);
+    }
+
+    /**
+     * Starts a new run with the given settings, stopping the current one first.
+     *
+     * @return false if this simulation was evicted concurrently and must not be used any more.
+     */
+    public synchronized boolean start(SimulationSettings settings) {
+        return start(settings, -1);
+    }
+
+    /**
+     * Starts a new run whose pool begins with {@code initialTickets} available, e.g. to resume a recovered run.
+     * A run in progress is stopped and drained first, so the new one never shares participants with it.
+     *
+     * @param initialTickets Starting availability, -1 to start from the settings' total.
+     * @return false if this simulation was evicted concurrently and must not be used any more.
+     */
+    public synchronized boolean start(SimulationSettings settings, int initialTickets) {
+        if (evicted) {
+            return false;
+        }
+        if (isRunning()) {
+            stop();
+        }
+        touch();
+
+        // Initialize the ticket pool with the configuration; the waiting room follows the pool's releases
+        WaitingRoom room = new WaitingRoom(Math.max(waitingRoomCapacity, settings.numberOfCustomers()), admissionOrder);
+        TicketPool pool = poolMode.create(settings.totalTickets(), settings.maxTicketCapacity(),
+                settings.ticketReleaseRate(), settings.customerRetrievalRate(),
+                TicketPoolListener.composite(listener, room), poolStripes, initialTickets, seatLayout);
+        pool.setLimiter(ParticipantLimiter.of(limitPolicy)); // Every run starts with fresh usage
+        pool.start();
+        run = new Run(pool, room); // Published fully set up and running
+
+        // Vendors and customers arrive on the load generator's schedule and run on the warm participant executor
+        ExecutorService executor = participants.acquire(settings.numberOfVendors() + settings.numberOfCustomers());
+        LoadGenerator.Profile profile = profileFor(settings);
+        loadGenerator = new LoadGenerator("load-" + eventId, pool, customersWait ? room : null, executor,
+                profile, settings.numberOfVendors(), settings.numberOfCustomers());
+        loadGenerator.start();
+
+        // Log system startup
+        logService.addLog(logPrefix(eventId) + "System started with configuration: " + settings +
+                ", Execution Mode = " + executionMode + (customersWait ? ", Waiting Room = " + admissionOrder : "")
+                + String.format(", Load = %s %.1f releases/s %.1f purchases/s (seed %d)", profile.distribution(),
+                profile.vendorOpsPerSecond(), profile.customerOpsPerSecond(), profile.seed()));
+        return true;
+    }
+
+    /**
+     * Stops the current run and drains its participants within the drain timeout. The pool is kept for
+     * status queries and the participant threads for the next run.
+     */
+    public synchronized void stop() {
+        stop(System.nanoTime() + drainTimeoutNanos);
+    }
+
+    /**
+     * Stops the current run for good and releases the participant threads, e.g. when the event is dropped
+     * or the application shuts down.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} by which participants must have drained.
+     */
+    public synchronized void close(long deadlineNanos) {
+        evicted = true;
+        stop(deadlineNanos);
+        participants.close();
+    }
+
+    // Stops arrivals and the pool, then waits until the deadline for operations already handed to participants
+    private void stop(long deadlineNanos) {
+        touch();
+        LoadGenerator generator = loadGenerator;
+        if (generator != null) {
+            loadGenerator = null;
+            lastReport = generator.stop(); // No new arrivals from here on
+            logService.addLog(logPrefix(eventId) + lastReport);
+        }
+        Run current = run;
+        if (current != null) {
+            current.pool().stop(); // Dismisses waiting customers, so their operations finish too
+        }
+        if (generator != null) {
+            long drainStart = System.nanoTime();
+            int stragglers = generator.awaitIdle(deadlineNanos);
+            if (stragglers > 0) {
+                participants.retire(); // Interrupts them; the next run gets fresh threads
+                logService.addLog(logPrefix(eventId) + stragglers + " participant operations were still running "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - drainStart)
+                        + "ms after the stop and were interrupted.");
+            }
+        }
+    }
+
+    /**
+     * Applies new rates and capacity to the current run without restarting it: the pool keeps its inventory
+     * and the participant executor keeps its threads. Changes happen under this simulation's lock, so they
+     * never interleave with a start or stop.
+     *
+     * @param settings Settings of the run from now on; only the rates and capacity are applied.
+     * @return false if no run is in progress; the next start uses the new settings anyway.
+     */
+    public synchronized boolean reconfigure(SimulationSettings settings) {
+        TicketPool pool = currentPool();
+        if (pool == null || !pool.isRunning()) {
+            return false;
+        }
+        touch();
+        pool.reconfigure(settings.maxTicketCapacity(), settings.ticketReleaseRate(), settings.customerRetrievalRate());
+        LoadGenerator.Profile profile = profileFor(settings);
+        if (loadGenerator != null) {
+            loadGenerator.updateRates(profile.vendorOpsPerSecond(), profile.customerOpsPerSecond());
+        }
+        logService.addLog(logPrefix(eventId) + "System reconfigured: Ticket Release Rate = "
+                + settings.ticketReleaseRate() + "ms, Customer Retrieval Rate = " + settings.customerRetrievalRate()
+                + "ms, Max Ticket Capacity = " + settings.maxTicketCapacity()
+                + String.format(", Load = %.1f releases/s %.1f purchases/s", profile.vendorOpsPerSecond(),
+                profile.customerOpsPerSecond()) + ", Available = " + pool.getAvailableTickets());
+        return true;
+    }
+
+    /**
+     * Adds multiple tickets to the pool from a vendor.
+     *
+     * @throws IllegalStateException if the event is not running.
+     */
+    public void addTickets(int numberOfTickets, int vendorId) {
+        requireRunningPool("Cannot add tickets.").addMultipleTickets(numberOfTickets, vendorId); // Add tickets to the pool
+    }
+
+    /**
+     * Queues a customer in the current run's waiting room.
+     *
+     * @throws IllegalStateException if the event is not running.
+     * @see WaitingRoom#join(int, int, long)
+     */
+    public CompletableFuture<Boolean> joinWaitingRoom(int customerId, int priority, long maxWaitMillis) {
+        Run current = run; // One read, so the room belongs to the pool that was checked
+        if (current == null || !current.pool().isRunning()) {
+            throw new IllegalStateException("System is not running. Cannot join the waiting room.");
+        }
+        touch();
+        return current.room().join(customerId, priority, maxWaitMillis);
+    }
+
+    /**
+     * Pool of the current run, for operations requested through the API rather than by simulated participants.
+     *
+     * @param action Describes the operation in the error message.
+     * @throws IllegalStateException if the event is not running.
+     */
+    TicketPool requireRunningPool(String action) {
+        TicketPool pool = currentPool();
+        if (pool == null || !pool.isRunning()) {
+            throw new IllegalStateException("System is not running. " + action);
+        }
+        touch();
+        return pool;
+    }
+
+    /**
+     * Marks this simulation evicted if it is stopped and has been idle for at least {@code idleMillis}.
+     *
+     * @return true if it was evicted and must be removed from the registry.
+     */
+    public synchronized boolean evictIfIdle(long nowMillis, long idleMillis) {
+        if (evicted || isRunning() || nowMillis - lastActivityMillis < idleMillis) {
+            return false;
+        }
+        evicted = true;
+        run = null; // Release the pool
+        participants.close();
+        return true;
+    }
+
+    public boolean isRunning() {
+        TicketPool pool = currentPool();
+        return pool != null && pool.isRunning();
+    }
+
+    public int getTotalTickets() {
+        TicketPool pool = currentPool();
+        return pool != null ? pool.getTotalTickets() : 0;
+    }
+
+    public int getAvailableTickets() {
+        TicketPool pool = currentPool();
+        return pool != null ? pool.getAvailableTickets() : 0;
+    }
+
+    /**
+     * Load achieved so far by the current run, or the report of the last run once stopped; null before the first run.
+     */
+    public synchronized LoadGenerator.Report getLoadReport() {
+        return loadGenerator != null ? loadGenerator.report() : lastReport;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    // The configured profile with negative rates replaced by what the settings' participants and intervals imply
+    private LoadGenerator.Profile profileFor(SimulationSettings settings) {
+        double vendorRate = loadProfile.vendorOpsPerSecond() >= 0 ? loadProfile.vendorOpsPerSecond()
+                : settings.numberOfVendors() * 1000.0 / Math.max(1, settings.ticketReleaseRate());
+        double customerRate = loadProfile.customerOpsPerSecond() >= 0 ? loadProfile.customerOpsPerSecond()
+                : settings.numberOfCustomers() * 1000.0 / Math.max(1, settings.customerRetrievalRate());
+        return new LoadGenerator.Profile(loadProfile.distribution(), loadProfile.seed(), loadProfile.burstSize(),
+                vendorRate, customerRate, loadProfile.maxInFlight());
+    }
+
+    private TicketPool currentPool() {
+        Run current = run;
+        return current != null ? current.pool() : null;
+    }
+
+    private void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+    }
+
+    // Prefix for log lines of this event; the default event keeps the original, unprefixed messages
+    static String logPrefix(String eventId) {
+        return TicketService.DEFAULT_EVENT_ID.equals(eventId) ? "" : "[" + eventId + "] ";
+    }
+
+    // Pool and waiting room of one run
+    private record Run(TicketPool pool, WaitingRoom room) {
+    }
+}
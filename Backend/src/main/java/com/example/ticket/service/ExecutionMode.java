@@ -0,0 +1,64 @@
+package com.example.ticket.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How vendor and customer participants are scheduled, selected with the {@code ticket.execution.mode} property.
+ */
+public enum ExecutionMode {
+
+    PLATFORM, // One platform thread per participant on a fixed thread pool
+    VIRTUAL; // One virtual thread per participant; sleeping participants do not hold a carrier thread
+
+    /**
+     * Creates an executor able to run the given number of long-lived participants concurrently.
+     *
+     * @param participants The number of vendor and customer tasks that will be submitted.
+     * @return A new executor for this mode.
+     */
+    public ExecutorService newExecutor(int participants) {
+        return newExecutor(participants, 0);
+    }
+
+    /**
+     * Creates an executor that can be kept across runs and resized with {@link #resize}.
+     *
+     * @param participants    The number of vendor and customer tasks that will be submitted.
+     * @param keepAliveMillis How long an idle PLATFORM thread is kept, 0 to keep it until shutdown.
+     * @return A new executor for this mode.
+     */
+    public ExecutorService newExecutor(int participants, long keepAliveMillis) {
+        return switch (this) {
+            case PLATFORM -> {
+                int threads = Math.max(1, participants);
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                        Math.max(1, keepAliveMillis), TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                        Thread.ofPlatform().name("participant-", 0).factory());
+                executor.allowCoreThreadTimeOut(keepAliveMillis > 0);
+                yield executor;
+            }
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("participant-", 0).factory());
+        };
+    }
+
+    /**
+     * Adjusts an executor created by this mode to a new number of participants. Threads that are already
+     * running are kept; VIRTUAL executors need no adjustment.
+     */
+    public void resize(ExecutorService executor, int participants) {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            int threads = Math.max(1, participants);
+            if (threads > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(threads); // Raise the maximum first; the core size may never exceed it
+                pool.setCorePoolSize(threads);
+            } else {
+                pool.setCorePoolSize(threads);
+                pool.setMaximumPoolSize(threads);
+            }
+        }
+    }
+}
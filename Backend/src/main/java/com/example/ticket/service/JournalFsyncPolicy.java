@@ -0,0 +1,13 @@
+package com.example.ticket.service;
+
+/**
+ * When {@link TicketJournal} forces appended records to the storage device,
+ * selected with the {@code ticket.journal.fsync} property. Forcing happens on the journal thread, after the
+ * pool operation has returned, so no policy makes an individual purchase durable before it completes.
+ */
+public enum JournalFsyncPolicy {
+
+    BATCH, // After every batch the journal thread writes: group commit; a power failure loses at most the last batch and what is still queued
+    INTERVAL, // At most once per fsync-interval-ms; cheaper, loses up to that interval on power failure
+    NONE // Never explicitly; the OS writes mapped pages back on its own. Still survives a process crash
+}
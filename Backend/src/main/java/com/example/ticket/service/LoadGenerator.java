@@ -0,0 +1,336 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.util.LatencyHistogram;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load for one run: vendor releases and customer purchases arrive at target rates on a schedule
+ * computed from an {@link ArrivalDistribution}, independent of how fast the pool answers.
+ * <p>
+ * A single scheduler thread works out when each arrival is due and which vendor or customer it belongs to,
+ * both from a seeded random source, so the same seed always produces the same arrival sequence. Due arrivals
+ * are handed to the participant executor. Latency is measured from the time an arrival was due, not from when
+ * it happened to start, so a slow pool shows up as latency instead of silently lowering the load. When more
+ * than {@code maxInFlight} operations are outstanding, new arrivals are counted as skipped.
+ * <p>
+ * Rates can be changed while running with {@link #updateRates}. The scheduler picks up both new rates
+ * together and reschedules the next arrival of each stream from the moment it noticed the change.
+ * <p>
+ * After {@link #stop} operations still queued on the executor are skipped rather than run, and
+ * {@link #awaitIdle} waits for the ones already running, so a run can be drained before its executor is reused.
+ */
+public class LoadGenerator {
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100); // Re-check for stop at least this often
+
+    private final TicketPool pool; // Pool receiving the load
+    private final WaitingRoom waitingRoom; // Customers join it instead of buying directly; null to buy directly
+    private final Executor executor; // Runs the operations
+    private volatile Profile profile; // Rates, distribution and seed; rates are replaced by updateRates
+    private final String name; // Scheduler thread name
+    private final Stream vendors; // Ticket releases
+    private final Stream customers; // Ticket purchases
+    private final AtomicInteger inFlight = new AtomicInteger(); // Operations issued but not finished
+    private volatile Thread drainWaiter; // Thread in awaitIdle, woken when the last operation finishes
+
+    private volatile boolean running;
+    private Thread scheduler;
+    private long startNanos;
+    private long stopNanos;
+
+    /**
+     * @param waitingRoom       Waiting room customers join, or null for customers to call buyTicket.
+     * @param numberOfVendors   Vendor ids are drawn from 1..numberOfVendors.
+     * @param numberOfCustomers Customer ids are drawn from 1..numberOfCustomers.
+     */
+    public LoadGenerator(String name, TicketPool pool, WaitingRoom waitingRoom, Executor executor, Profile profile,
+                         int numberOfVendors, int numberOfCustomers) {
+        this.name = name;
+        this.pool = pool;
+        this.waitingRoom = waitingRoom;
+        this.executor = executor;
+        this.profile = profile;
+        SplittableRandom seeded = new SplittableRandom(profile.seed());
+        this.vendors = new Stream(numberOfVendors, seeded.split());
+        this.customers = new Stream(numberOfCustomers, seeded.split());
+        vendors.retarget(profile.vendorOpsPerSecond(), 0);
+        customers.retarget(profile.customerOpsPerSecond(), 0);
+    }
+
+    /**
+     * Starts issuing arrivals.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        running = true;
+        startNanos = System.nanoTime();
+        scheduler = new Thread(this::schedule, name);
+        scheduler.setDaemon(true);
+        scheduler.start();
+    }
+
+    /**
+     * Stops issuing arrivals and reports what was achieved. Operations still in flight are not included.
+     */
+    public synchronized Report stop() {
+        if (scheduler != null) {
+            running = false;
+            LockSupport.unpark(scheduler);
+            try {
+                scheduler.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+            stopNanos = System.nanoTime();
+        }
+        return report();
+    }
+
+    /**
+     * Waits until every operation issued before {@link #stop} has finished, but not past the deadline.
+     * Customers in a waiting room count until they are admitted or dismissed.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} at which to give up.
+     * @return Operations still in flight when it gave up; 0 once drained.
+     */
+    public int awaitIdle(long deadlineNanos) {
+        drainWaiter = Thread.currentThread();
+        try {
+            int remaining;
+            while ((remaining = inFlight.get()) > 0) {
+                long left = deadlineNanos - System.nanoTime();
+                if (left <= 0 || Thread.currentThread().isInterrupted()) {
+                    return remaining;
+                }
+                LockSupport.parkNanos(this, left);
+            }
+            return 0;
+        } finally {
+            drainWaiter = null;
+        }
+    }
+
+    /**
+     * Changes the target rates without interrupting the run. Results recorded so far are kept, so the report
+     * covers the whole run while showing the latest targets.
+     *
+     * @param vendorOpsPerSecond   New target ticket releases per second, 0 for none.
+     * @param customerOpsPerSecond New target purchase attempts per second, 0 for none.
+     */
+    public synchronized void updateRates(double vendorOpsPerSecond, double customerOpsPerSecond) {
+        profile = profile.withRates(vendorOpsPerSecond, customerOpsPerSecond);
+        if (scheduler != null) {
+            LockSupport.unpark(scheduler); // Apply now rather than after the current wait
+        }
+    }
+
+    /**
+     * What has been achieved so far, or in total once stopped.
+     */
+    public synchronized Report report() {
+        long end = scheduler != null ? System.nanoTime() : stopNanos;
+        double seconds = Math.max(1, end - startNanos) / 1e9;
+        Profile current = profile;
+        return new Report(current, seconds, vendors.report(current.vendorOpsPerSecond(), seconds),
+                customers.report(current.customerOpsPerSecond(), seconds));
+    }
+
+    private void schedule() {
+        Profile applied = profile;
+        while (running) {
+            long now = System.nanoTime() - startNanos;
+            Profile current = profile;
+            if (current != applied) {
+                vendors.retarget(current.vendorOpsPerSecond(), now);
+                customers.retarget(current.customerOpsPerSecond(), now);
+                applied = current;
+            }
+            // Issue everything that is due, including arrivals that fell due while this thread was descheduled
+            while (running && vendors.dueNanos <= now) {
+                vendors.issue(this::releaseTicket);
+            }
+            while (running && customers.dueNanos <= now) {
+                customers.issue(waitingRoom != null ? this::joinWaitingRoom : this::buyTicket);
+            }
+            double next = Math.min(vendors.dueNanos, customers.dueNanos);
+            long wait = (long) Math.min(next - now, MAX_PARK_NANOS);
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    private void releaseTicket(Stream stream, int vendorId, long dueNanos) {
+        execute(stream, dueNanos, () -> stream.completed(pool.addTicket(vendorId), dueNanos));
+    }
+
+    private void buyTicket(Stream stream, int customerId, long dueNanos) {
+        execute(stream, dueNanos, () -> stream.completed(pool.buyTicket(customerId), dueNanos));
+    }
+
+    private void joinWaitingRoom(Stream stream, int customerId, long dueNanos) {
+        execute(stream, dueNanos, () -> {
+            CompletableFuture<Boolean> admission = waitingRoom.join(customerId, 0, 0);
+            inFlight.incrementAndGet(); // Outstanding until admitted or dismissed, not just until joined
+            admission.whenComplete((admitted, error) -> {
+                finished();
+                stream.completed(Boolean.TRUE.equals(admitted), dueNanos);
+            });
+        });
+    }
+
+    // Hands one operation to the executor unless too many are outstanding
+    private void execute(Stream stream, long dueNanos, Runnable operation) {
+        if (inFlight.incrementAndGet() > profile.maxInFlight()) {
+            finished();
+            stream.skipped.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (running) {
+                        operation.run();
+                    } // Otherwise it was queued behind the stop; drop it instead of delaying the drain
+                } finally {
+                    finished();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finished(); // Run is stopping
+            stream.skipped.increment();
+        }
+    }
+
+    // Counts one operation as done and wakes a drain waiting for the last one
+    private void finished() {
+        if (inFlight.decrementAndGet() == 0) {
+            Thread waiter = drainWaiter;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    // Issues one arrival of a stream
+    @FunctionalInterface
+    private interface Arrival {
+        void issue(Stream stream, int actorId, long dueNanos);
+    }
+
+    // Arrival schedule and results of one kind of operation
+    private final class Stream {
+        private double meanGapNanos; // Infinite when the rate is 0; scheduler thread only after start
+        private final int actors; // Ids are drawn from 1..actors
+        private final SplittableRandom random; // Used by the scheduler thread only
+        private final LatencyHistogram latency = new LatencyHistogram(); // Nanoseconds from due to done
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private long issued; // Scheduler thread only
+        private double dueNanos; // Next arrival, relative to start; scheduler thread only
+
+        private Stream(int actors, SplittableRandom random) {
+            this.actors = actors;
+            this.random = random;
+        }
+
+        // Switches to a new rate; the next arrival is one mean gap of the new rate after nowNanos
+        private void retarget(double opsPerSecond, long nowNanos) {
+            meanGapNanos = opsPerSecond > 0 && actors > 0 ? 1e9 / opsPerSecond : Double.POSITIVE_INFINITY;
+            dueNanos = nowNanos + meanGapNanos;
+        }
+
+        private void issue(Arrival arrival) {
+            int actorId = 1 + random.nextInt(actors);
+            arrival.issue(this, actorId, startNanos + (long) dueNanos);
+            dueNanos += profile.distribution().nextGapNanos(meanGapNanos, profile.burstSize(), issued, random);
+            issued++;
+        }
+
+        private void completed(boolean success, long dueNanos) {
+            latency.record(System.nanoTime() - dueNanos);
+            if (success) {
+                succeeded.increment();
+            }
+        }
+
+        private StreamReport report(double targetOpsPerSecond, double seconds) {
+            long completed = latency.count();
+            return new StreamReport(actors > 0 ? Math.max(0, targetOpsPerSecond) : 0, completed / seconds,
+                    completed, succeeded.sum(), skipped.sum(),
+                    latency.percentile(0.50) / 1000, latency.percentile(0.90) / 1000, latency.percentile(0.99) / 1000,
+                    latency.percentile(0.999) / 1000, latency.max() / 1000);
+        }
+    }
+
+    /**
+     * Load settings of a run.
+     *
+     * @param distribution         How arrivals are spaced.
+     * @param seed                 Seed of the arrival schedule and actor choice.
+     * @param burstSize            Arrivals per burst for BURST.
+     * @param vendorOpsPerSecond   Target ticket releases per second, 0 for none.
+     * @param customerOpsPerSecond Target purchase attempts per second, 0 for none.
+     * @param maxInFlight          Outstanding operations above which arrivals are skipped.
+     */
+    public record Profile(ArrivalDistribution distribution, long seed, int burstSize, double vendorOpsPerSecond,
+                          double customerOpsPerSecond, int maxInFlight) {
+        public Profile {
+            burstSize = Math.max(1, burstSize);
+            maxInFlight = Math.max(1, maxInFlight);
+        }
+
+        // The same profile with other target rates
+        public Profile withRates(double vendorOpsPerSecond, double customerOpsPerSecond) {
+            return new Profile(distribution, seed, burstSize, vendorOpsPerSecond, customerOpsPerSecond, maxInFlight);
+        }
+    }
+
+    /**
+     * Results of one kind of operation. Latencies are in microseconds, upper bounds of ~12% wide buckets.
+     *
+     * @param targetOpsPerSecond   Rate arrivals were scheduled at.
+     * @param achievedOpsPerSecond Completed operations per second of run time.
+     * @param completed            Operations that finished.
+     * @param succeeded            Operations that added or bought a ticket.
+     * @param skipped              Arrivals not issued because too many operations were outstanding.
+     */
+    public record StreamReport(double targetOpsPerSecond, double achievedOpsPerSecond, long completed, long succeeded,
+                               long skipped, long p50Micros, long p90Micros, long p99Micros, long p999Micros,
+                               long maxMicros) {
+        @Override
+        public String toString() {
+            return String.format("target %.1f/s, achieved %.1f/s, %d done (%d succeeded, %d skipped), "
+                            + "latency p50 %dus p90 %dus p99 %dus p99.9 %dus max %dus",
+                    targetOpsPerSecond, achievedOpsPerSecond, completed, succeeded, skipped,
+                    p50Micros, p90Micros, p99Micros, p999Micros, maxMicros);
+        }
+    }
+
+    /**
+     * End-of-run load report.
+     *
+     * @param profile   The load settings of the run.
+     * @param seconds   Run time.
+     * @param vendors   Ticket releases.
+     * @param customers Purchases (or waiting-room admissions).
+     */
+    public record Report(Profile profile, double seconds, StreamReport vendors, StreamReport customers) {
+        @Override
+        public String toString() {
+            return String.format("Load report (%s, seed %d, %.1fs): vendors %s; customers %s",
+                    profile.distribution(), profile.seed(), seconds, vendors, customers);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ticket.service;
+
+/**
+ * What {@link LogService#addLog(String)} does when the log queue cannot keep up,
+ * selected with the {@code ticket.log.overflow-policy} property.
+ */
+public enum LogOverflowPolicy {
+
+    DROP, // Discard the entry when the queue is full; the producer never waits
+    SAMPLE, // Above the high-water mark keep only one entry in every sample-rate, drop the rest; never waits
+    BLOCK // Wait for the consumer to free a slot; only for debugging, since it can slow down ticket operations
+}
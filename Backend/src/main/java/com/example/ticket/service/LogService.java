@@ -1,67 +1,289 @@
 package com.example.ticket.service;
 
 import com.example.ticket.controller.WebSocketController;
+import com.example.ticket.util.LogRecordRing;
+import com.example.ticket.util.LogRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Service for managing and broadcasting logs within the ticket system.
+ * <p>
+ * {@link #addLog(String)} only enqueues the message; a single consumer thread formats timestamps,
+ * stores entries and fans them out to WebSocket subscribers (one frame per batch) and the console.
+ * Stored entries carry sequence numbers so readers can page through them with a cursor.
+ * <p>
+ * Ticket operations log through {@link #addEvent}, which copies the event's numbers into a preallocated
+ * {@link LogRecordRing} slot: the pool's hot path builds no string and allocates nothing, and the text
+ * is rendered by the consumer thread when the entry is stored and published.
  */
 @Service // Marks this as a Spring-managed service component
 public class LogService {
 
-    private final List<String> logs = Collections.synchronizedList(new ArrayList<>()); // Thread-safe log list
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    public static final String LOG_BATCH_TOPIC = "/topic/logBatches"; // Batched log frames for subscribers
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50); // Back-off for BLOCK producers
+
     private final WebSocketController webSocketController; // WebSocket controller for broadcasting logs
+    private final TicketStream ticketStream; // Streams log batches to SSE subscribers
+    private final LogRecordRing queue; // Pending entries from all producer threads
+    private final LogOverflowPolicy overflowPolicy; // What producers do when the queue is full
+    private final int highWaterMark; // Queue depth above which SAMPLE starts discarding
+    private final int sampleRate; // SAMPLE keeps one entry in every sampleRate above the high-water mark
+    private final int batchSize; // Maximum entries handled per consumer pass
+    private final long flushIntervalNanos; // How long the consumer parks when the queue is empty
+    private final boolean consoleOutput; // Whether entries are also printed to standard output
+
+    private final AtomicLong overflowSequence = new AtomicLong(); // Counts entries offered above the high-water mark
+    private final LongAdder dropped = new LongAdder(); // Total entries discarded by the overflow policy
+
+    private final LogRingBuffer logs; // Retained entries; written by the consumer, read without locking
+
+    private Thread consumer; // Single thread draining the queue
+    private volatile boolean shuttingDown;
+
+    // Consumer thread state
+    private final List<String> batch = new ArrayList<>();
+    private final StringBuilder line = new StringBuilder(128); // Reused to render each entry
+    private final LogRecordRing.Sink renderer = this::format; // Created once rather than per drain
+    private long cachedSecond = Long.MIN_VALUE; // Epoch second of the cached timestamp prefix
+    private String cachedTimestamp; // Formatted timestamp for cachedSecond
+    private long reportedDropped; // Drop count already reported in the log
 
     /**
      * Constructor for LogService.
      *
      * @param webSocketController The WebSocket controller to send log updates.
+     * @param ticketStream        The SSE stream that also receives every log batch.
+     * @param queueCapacity       Maximum number of entries waiting for the consumer.
+     * @param overflowPolicy      What producers do when the queue is full.
+     * @param sampleRate          One in how many entries SAMPLE keeps above the high-water mark.
+     * @param batchSize           Maximum entries handled per consumer pass.
+     * @param flushIntervalMs     How long the consumer waits for new entries when idle.
+     * @param retentionEntries    Maximum number of entries kept for GET /api/ticket/logs.
+     * @param retentionBytes      Maximum total size of kept entries in UTF-8 bytes, 0 for no size limit.
+     * @param consoleOutput       Whether entries are also printed to standard output.
      */
-    public LogService(WebSocketController webSocketController) {
+    @Autowired
+    public LogService(WebSocketController webSocketController, TicketStream ticketStream,
+                      @Value("${ticket.log.queue-capacity:8192}") int queueCapacity,
+                      @Value("${ticket.log.overflow-policy:DROP}") LogOverflowPolicy overflowPolicy,
+                      @Value("${ticket.log.sample-rate:10}") int sampleRate,
+                      @Value("${ticket.log.batch-size:256}") int batchSize,
+                      @Value("${ticket.log.flush-interval-ms:10}") int flushIntervalMs,
+                      @Value("${ticket.log.retention.max-entries:1000}") int retentionEntries,
+                      @Value("${ticket.log.retention.max-bytes:0}") long retentionBytes,
+                      @Value("${ticket.log.console:true}") boolean consoleOutput) {
         this.webSocketController = webSocketController;
+        this.ticketStream = ticketStream;
+        this.queue = new LogRecordRing(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.highWaterMark = queue.capacity() * 3 / 4;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.logs = new LogRingBuffer(retentionEntries, retentionBytes);
+        this.consoleOutput = consoleOutput;
+    }
+
+    /**
+     * Starts the consumer thread that drains queued log entries.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (consumer == null) {
+            consumer = new Thread(this::drainLoop, "log-pipeline");
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+    }
+
+    /**
+     * Stops accepting new work, flushes what is queued and stops the consumer thread.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        shuttingDown = true;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumer = null;
+        }
     }
 
     /**
-     * Adds a new log entry with a timestamp.
-     * The log is also sent to WebSocket subscribers and printed to the console.
+     * Queues a new log entry. The timestamp is taken now; formatting, storage and broadcasting
+     * happen on the consumer thread. Depending on the overflow policy the entry may be dropped
+     * when the queue is full, so this never waits unless the policy is BLOCK.
      *
      * @param log The log message to add.
      */
     public void addLog(String log) {
-        // Format log entry with timestamp
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        String timestampedLog = LocalDateTime.now().format(formatter) + " - " + log;
+        enqueue(TicketLogEvent.TEXT, log, 0, 0, 0);
+    }
+
+    /**
+     * Queues a ticket operation without rendering it. Nothing is allocated; the consumer thread turns the
+     * event into text. Overflow is handled as for {@link #addLog(String)}.
+     *
+     * @param prefix    Text put in front of the message, e.g. the event id; not copied, so pass a constant.
+     * @param actor     Vendor or customer id.
+     * @param count     Tickets involved.
+     * @param available Available tickets right after the operation.
+     */
+    public void addEvent(TicketLogEvent type, String prefix, int actor, int count, int available) {
+        enqueue(type, prefix, actor, count, available);
+    }
 
-        synchronized (logs) { // Ensure thread-safe modifications
-            logs.add(timestampedLog);
+    // Offers an entry under the overflow policy
+    private void enqueue(TicketLogEvent type, String text, int actor, int count, int available) {
+        long timestampMillis = System.currentTimeMillis();
 
-            // Limit the log size to 1000 entries for memory efficiency
-            if (logs.size() > 1000) {
-                logs.remove(0);
+        if (overflowPolicy == LogOverflowPolicy.SAMPLE && queue.size() >= highWaterMark
+                && overflowSequence.getAndIncrement() % sampleRate != 0) {
+            dropped.increment();
+            return;
+        }
+        if (queue.offer(type.ordinal(), text, actor, count, available, timestampMillis)) {
+            return;
+        }
+        if (overflowPolicy == LogOverflowPolicy.BLOCK) {
+            while (!shuttingDown) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (queue.offer(type.ordinal(), text, actor, count, available, timestampMillis)) {
+                    return;
+                }
             }
         }
-
-        // Broadcast the log update via WebSocket
-        webSocketController.sendLogUpdate("/topic/logs", timestampedLog);
-
-        // Print log to console for debugging/monitoring
-        System.out.println(timestampedLog);
+        dropped.increment();
     }
 
     /**
-     * Retrieves all logs in a thread-safe manner.
+     * Retrieves all retained logs without blocking the log pipeline.
      *
-     * @return A copy of the current log list.
+     * @return A copy of the current log entries, oldest first.
      */
     public List<String> getLogs() {
-        synchronized (logs) {
-            return new ArrayList<>(logs); // Return a copy to prevent external modification
+        List<String> copy = new ArrayList<>();
+        for (LogRingBuffer.Entry entry : logs.read(0, Integer.MAX_VALUE).entries()) {
+            copy.add(entry.text());
+        }
+        return copy; // Return a copy to prevent external modification
+    }
+
+    /**
+     * Retrieves retained logs newer than a cursor without blocking the log pipeline.
+     *
+     * @param since Sequence number of the last entry the caller has seen, 0 for the oldest retained entry.
+     * @param limit Maximum number of entries to return.
+     * @return The entries and the cursor for the next call.
+     */
+    public LogRingBuffer.Page getLogs(long since, int limit) {
+        return logs.read(since, limit);
+    }
+
+    // Number of entries waiting for the consumer thread
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Total number of entries discarded by the overflow policy
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drainLoop() {
+        while (!shuttingDown || queue.size() > 0) {
+            try {
+                int drained = queue.drain(renderer, batchSize);
+                reportDropped();
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(flushIntervalNanos); // Nothing queued; let producers fill a batch
+                } else {
+                    flush();
+                }
+                if (drained == 0 && shuttingDown) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                batch.clear(); // A failed fan-out must not stop the pipeline
+                System.err.println("Log pipeline error: " + e);
+            }
+        }
+    }
+
+    // Renders one entry; the timestamp text is only rebuilt when the second changes
+    private void format(int type, String text, int actor, int count, int available, long timestampMillis) {
+        long second = Math.floorDiv(timestampMillis, 1000L);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedTimestamp = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault())
+                    .format(TIMESTAMP_FORMAT);
         }
+        line.setLength(0);
+        line.append(cachedTimestamp).append(" - ").append(text);
+        TicketLogEvent.of(type).render(line, actor, count, available);
+        batch.add(line.toString());
+    }
+
+    // Adds a summary entry when the overflow policy discarded entries since the last report
+    private void reportDropped() {
+        long total = dropped.sum();
+        if (total > reportedDropped) {
+            format(TicketLogEvent.TEXT.ordinal(),
+                    (total - reportedDropped) + " log entries dropped (" + overflowPolicy + " overflow policy)",
+                    0, 0, 0, System.currentTimeMillis());
+            reportedDropped = total;
+        }
+    }
+
+    // Stores, broadcasts and prints the current batch
+    private void flush() {
+        StringBuilder console = new StringBuilder();
+        long firstSequence = 0;
+        for (String entry : batch) {
+            long sequence = logs.append(entry);
+            if (firstSequence == 0) {
+                firstSequence = sequence;
+            }
+            if (consoleOutput) {
+                console.append(entry).append(System.lineSeparator());
+            }
+        }
+
+        // One frame per flush; sequences are contiguous so subscribers can detect missed frames
+        List<String> entries = List.copyOf(batch);
+        LogBatch logBatch = new LogBatch(firstSequence, firstSequence + entries.size() - 1, entries);
+        webSocketController.sendLogBatch(LOG_BATCH_TOPIC, firstSequence, entries, logBatch);
+        ticketStream.publishLogs(logBatch);
+        if (consoleOutput) {
+            System.out.print(console); // Print logs to console for debugging/monitoring
+        }
+        batch.clear();
+    }
+
+    /**
+     * Frame published on {@value #LOG_BATCH_TOPIC}: the entries with sequence numbers
+     * {@code firstSequence..lastSequence}, oldest first.
+     */
+    public record LogBatch(long firstSequence, long lastSequence, List<String> entries) {
     }
 }
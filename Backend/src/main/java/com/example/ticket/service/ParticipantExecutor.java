@@ -0,0 +1,60 @@
+package com.example.ticket.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor running the simulated participants of one event, kept warm across runs.
+ * <p>
+ * A restart reuses the threads of the previous run instead of building another executor: PLATFORM pools are
+ * resized to the new participant count, and idle threads time out after the keep-alive, so a stopped event
+ * gives its threads back even before it is evicted. An executor whose run left stragglers behind is retired,
+ * which interrupts them, and the next run starts on a fresh one.
+ */
+public class ParticipantExecutor {
+    private final ExecutionMode mode; // Thread model of the executor
+    private final long keepAliveMillis; // How long idle PLATFORM threads are kept between runs
+    private ExecutorService executor; // Null until the first run and after retirement or close, guarded by this
+
+    public ParticipantExecutor(ExecutionMode mode, long keepAliveMillis) {
+        this.mode = mode;
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    /**
+     * Returns the executor for a new run, sized for its participants.
+     */
+    public synchronized ExecutorService acquire(int participants) {
+        if (executor == null) {
+            executor = mode.newExecutor(participants, keepAliveMillis);
+        } else {
+            mode.resize(executor, participants);
+        }
+        return executor;
+    }
+
+    /**
+     * Discards the executor and interrupts whatever it still runs; the next run gets a new one.
+     */
+    public synchronized void retire() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Shuts the executor down for good once its remaining tasks have finished.
+     */
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    // Live PLATFORM threads, 0 for VIRTUAL executors and before the first run
+    public synchronized int getThreadCount() {
+        return executor instanceof ThreadPoolExecutor pool ? pool.getPoolSize() : 0;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.ParticipantLimiter;
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.util.IntCounterTable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-vendor and per-customer counters of every event: tickets released, releases rejected at capacity and
+ * releases refused by the vendor's cap for vendors; tickets bought, failed purchase attempts and purchases
+ * refused by the customer's cap or rate limit for customers.
+ * <p>
+ * Counters are kept in {@link IntCounterTable}s keyed by participant id, so recording from the pool
+ * listener neither boxes the id nor allocates, and memory grows with the highest id rather than with
+ * per-participant objects. Like the Micrometer meters, counters cover every run of an event until it is
+ * unloaded.
+ */
+@Service // Marks this as a Spring-managed service component
+public class ParticipantStats {
+    private static final int RELEASED = 0; // Vendor counter: tickets added to the pool
+    private static final int REJECTED = 1; // Vendor counter: releases rejected at max capacity
+    private static final int RELEASES_CAPPED = 2; // Vendor counter: releases refused by the vendor's cap
+    private static final int BOUGHT = 0; // Customer counter: tickets bought
+    private static final int FAILED = 1; // Customer counter: purchase attempts that found no ticket
+    private static final int PURCHASES_CAPPED = 2; // Customer counter: purchases refused by the customer's cap
+    private static final int RATE_LIMITED = 3; // Customer counter: purchases refused by the customer's rate limit
+
+    private final Map<String, EventStats> events = new ConcurrentHashMap<>(); // Counters by event id
+
+    /**
+     * Returns the pool listener counting an event's participants, creating its counters on first use.
+     */
+    public EventStats forEvent(String eventId) {
+        return events.computeIfAbsent(eventId, id -> new EventStats());
+    }
+
+    /**
+     * Drops the counters of an event.
+     */
+    public void removeEvent(String eventId) {
+        events.remove(eventId);
+    }
+
+    /**
+     * Counters of one vendor; all zero if the vendor or event is unknown.
+     */
+    public VendorStats getVendor(String eventId, int vendorId) {
+        EventStats stats = events.get(eventId);
+        return stats != null ? stats.vendor(vendorId) : new VendorStats(vendorId, 0, 0, 0);
+    }
+
+    /**
+     * Counters of one customer; all zero if the customer or event is unknown.
+     */
+    public CustomerStats getCustomer(String eventId, int customerId) {
+        EventStats stats = events.get(eventId);
+        return stats != null ? stats.customer(customerId) : new CustomerStats(customerId, 0, 0, 0, 0);
+    }
+
+    /**
+     * Participant counts and the most active vendors and customers of an event.
+     *
+     * @param top How many vendors (by tickets released) and customers (by tickets bought) to list.
+     */
+    public Summary getSummary(String eventId, int top) {
+        EventStats stats = events.get(eventId);
+        if (stats == null) {
+            return new Summary(0, 0, 0, 0, 0, List.of(), List.of());
+        }
+        List<VendorStats> vendors = new ArrayList<>();
+        for (int vendorId : stats.vendors.top(RELEASED, top)) {
+            vendors.add(stats.vendor(vendorId));
+        }
+        List<CustomerStats> customers = new ArrayList<>();
+        for (int customerId : stats.customers.top(BOUGHT, top)) {
+            customers.add(stats.customer(customerId));
+        }
+        return new Summary(stats.vendors.countIds(), stats.customers.countIds(), stats.purchasesCapped.sum(),
+                stats.purchasesRateLimited.sum(), stats.releasesCapped.sum(), vendors, customers);
+    }
+
+    /**
+     * Pool listener updating the counters of one event.
+     */
+    public static final class EventStats implements TicketPoolListener {
+        private final IntCounterTable vendors = new IntCounterTable(3); // RELEASED, REJECTED, RELEASES_CAPPED
+        private final IntCounterTable customers = new IntCounterTable(4); // BOUGHT, FAILED, PURCHASES_CAPPED, RATE_LIMITED
+        private final LongAdder purchasesCapped = new LongAdder(); // Event totals of the limit rejections
+        private final LongAdder purchasesRateLimited = new LongAdder();
+        private final LongAdder releasesCapped = new LongAdder();
+
+        @Override
+        public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+            vendors.add(vendorId, RELEASED, ticketsAdded);
+        }
+
+        @Override
+        public void onAddRejected(TicketPool pool, int vendorId, int requested) {
+            vendors.add(vendorId, REJECTED, 1);
+        }
+
+        @Override
+        public void onTicketBought(TicketPool pool, int customerId, int available) {
+            customers.add(customerId, BOUGHT, 1);
+        }
+
+        @Override
+        public void onTicketsBought(TicketPool pool, int customerId, int quantity, int available) {
+            customers.add(customerId, BOUGHT, quantity); // One update instead of one per ticket
+        }
+
+        @Override
+        public void onBuyFailed(TicketPool pool, int customerId) {
+            customers.add(customerId, FAILED, 1);
+        }
+
+        @Override
+        public void onPurchaseRejected(TicketPool pool, int customerId, ParticipantLimiter.Rejection rejection) {
+            if (rejection == ParticipantLimiter.Rejection.RATE_LIMITED) {
+                customers.add(customerId, RATE_LIMITED, 1);
+                purchasesRateLimited.increment();
+            } else {
+                customers.add(customerId, PURCHASES_CAPPED, 1);
+                purchasesCapped.increment();
+            }
+        }
+
+        @Override
+        public void onReleaseRejected(TicketPool pool, int vendorId, int requested) {
+            vendors.add(vendorId, RELEASES_CAPPED, 1);
+            releasesCapped.increment();
+        }
+
+        private VendorStats vendor(int vendorId) {
+            return new VendorStats(vendorId, vendors.get(vendorId, RELEASED), vendors.get(vendorId, REJECTED),
+                    vendors.get(vendorId, RELEASES_CAPPED));
+        }
+
+        private CustomerStats customer(int customerId) {
+            return new CustomerStats(customerId, customers.get(customerId, BOUGHT), customers.get(customerId, FAILED),
+                    customers.get(customerId, PURCHASES_CAPPED), customers.get(customerId, RATE_LIMITED));
+        }
+    }
+
+    /**
+     * @param ticketsReleased  Tickets the vendor added to the pool.
+     * @param rejectedReleases Releases rejected because the pool was at max capacity.
+     * @param cappedReleases   Releases refused because the vendor reached its release cap.
+     */
+    public record VendorStats(int vendorId, long ticketsReleased, long rejectedReleases, long cappedReleases) {
+    }
+
+    /**
+     * @param ticketsBought     Tickets the customer bought, including confirmed holds.
+     * @param failedPurchases   Purchase attempts that found no ticket.
+     * @param cappedPurchases   Purchases refused because the customer reached its ticket cap.
+     * @param rateLimited       Purchases refused because the customer sent them too fast.
+     */
+    public record CustomerStats(int customerId, long ticketsBought, long failedPurchases, long cappedPurchases,
+                                long rateLimited) {
+    }
+
+    /**
+     * @param vendors              Vendors that released or tried to release tickets.
+     * @param customers            Customers that bought or tried to buy tickets.
+     * @param cappedPurchases      Purchases refused by customer ticket caps.
+     * @param rateLimitedPurchases Purchases refused by customer rate limits.
+     * @param cappedReleases       Releases refused by vendor release caps.
+     * @param topVendors           Vendors with the most tickets released.
+     * @param topCustomers         Customers with the most tickets bought.
+     */
+    public record Summary(int vendors, int customers, long cappedPurchases, long rateLimitedPurchases,
+                          long cappedReleases, List<VendorStats> topVendors, List<CustomerStats> topCustomers) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.util.TimerWheel;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Checkout holds: a customer reserves a ticket, then confirms or releases it before the hold expires.
+ * <p>
+ * A hold takes the ticket out of the pool's available inventory right away. Expiry deadlines live in a
+ * single {@link TimerWheel} advanced by one thread every tick, so outstanding holds cost no scheduled task
+ * each and expire in O(1); an expired hold goes straight back to the available inventory. Confirm, release
+ * and expiry race through a compare-and-set on the hold's status, so exactly one of them wins.
+ */
+@Service // Marks this as a Spring-managed service component
+public class ReservationService {
+    private final TicketService ticketService; // Resolves the pool of a running event
+    private final long defaultTtlMillis; // TTL used when the request does not specify one
+    private final long maxTtlMillis; // Upper bound for requested TTLs
+
+    private final Map<Long, Reservation> pending = new ConcurrentHashMap<>(); // Holds that are not settled yet
+    private final AtomicLong nextId = new AtomicLong(); // Reservation id generator
+    private final LongAdder expired = new LongAdder(); // Holds that ran out of time
+
+    private final Lock wheelLock = new ReentrantLock(); // Guards the timer wheel
+    private final TimerWheel<Reservation> wheel; // Expiry deadlines of pending holds
+    private final ScheduledExecutorService expiryScheduler; // Advances the wheel once per tick
+
+    /**
+     * Constructor for injecting dependencies.
+     *
+     * @param ticketService The ticket service.
+     * @param ttlMs         Default hold duration.
+     * @param maxTtlMs      Longest hold a request may ask for.
+     * @param tickMs        Resolution of expiry.
+     */
+    public ReservationService(TicketService ticketService,
+                              @Value("${ticket.reservation.ttl-ms:120000}") long ttlMs,
+                              @Value("${ticket.reservation.max-ttl-ms:900000}") long maxTtlMs,
+                              @Value("${ticket.reservation.tick-ms:10}") long tickMs) {
+        this.ticketService = ticketService;
+        this.defaultTtlMillis = ttlMs;
+        this.maxTtlMillis = Math.max(ttlMs, maxTtlMs);
+        long tick = Math.max(1, tickMs);
+        this.wheel = new TimerWheel<>(tick, System.currentTimeMillis());
+        this.expiryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        expiryScheduler.scheduleAtFixedRate(this::expireHolds, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the expiry thread. Pending holds are discarded together with their pools.
+     */
+    @PreDestroy
+    public void shutdown() {
+        expiryScheduler.shutdownNow();
+    }
+
+    /**
+     * Puts one ticket of a running event on hold for a customer.
+     *
+     * @param ttlMillis How long the hold lasts; 0 or less uses the default, longer than the maximum is capped.
+     * @throws IllegalStateException if the event is not running, has no available ticket or the customer's
+     *                               cap or rate limit refused the hold; the message names which.
+     */
+    public Reservation reserve(String eventId, int customerId, long ttlMillis) {
+        TicketPool pool = ticketService.requireRunningPool(eventId, "Cannot reserve tickets.");
+        switch (pool.tryHoldTicket(customerId)) {
+            case HELD -> {
+            }
+            case SOLD_OUT -> throw new IllegalStateException("No tickets available.");
+            case CAPPED -> throw new IllegalStateException("Customer " + customerId + " reached its purchase limit.");
+            case RATE_LIMITED -> throw new IllegalStateException("Customer " + customerId
+                    + " is sending purchase requests too fast; try again later.");
+        }
+        long ttl = ttlMillis > 0 ? Math.min(ttlMillis, maxTtlMillis) : defaultTtlMillis;
+        Reservation reservation = new Reservation(nextId.incrementAndGet(), eventId, customerId,
+                System.currentTimeMillis() + ttl, pool);
+
+        wheelLock.lock();
+        try {
+            pending.put(reservation.getId(), reservation);
+            reservation.timeout = wheel.schedule(reservation, reservation.getExpiresAtMillis());
+        } finally {
+            wheelLock.unlock();
+        }
+        return reservation;
+    }
+
+    /**
+     * Turns a hold into a sale.
+     *
+     * @throws IllegalArgumentException if there is no pending hold with this id.
+     * @throws IllegalStateException    if the hold was settled concurrently.
+     */
+    public Reservation confirm(long reservationId) {
+        Reservation reservation = settle(reservationId, Status.CONFIRMED);
+        reservation.pool.confirmHold(reservation.getCustomerId());
+        return reservation;
+    }
+
+    /**
+     * Abandons a hold and returns its ticket to the available inventory.
+     *
+     * @throws IllegalArgumentException if there is no pending hold with this id.
+     * @throws IllegalStateException    if the hold was settled concurrently.
+     */
+    public Reservation release(long reservationId) {
+        Reservation reservation = settle(reservationId, Status.RELEASED);
+        reservation.pool.releaseHold(reservation.getCustomerId());
+        return reservation;
+    }
+
+    // Pending hold with this id, or null once it has been settled
+    public Reservation getReservation(long reservationId) {
+        return pending.get(reservationId);
+    }
+
+    // Number of holds that are neither confirmed, released nor expired
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    // Number of holds that expired since startup
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    private Reservation settle(long reservationId, Status outcome) {
+        Reservation reservation = pending.get(reservationId);
+        if (reservation == null) {
+            throw new IllegalArgumentException("Reservation " + reservationId + " not found or already settled.");
+        }
+        if (!reservation.status.compareAndSet(Status.HELD, outcome)) {
+            throw new IllegalStateException("Reservation " + reservationId + " is already "
+                    + reservation.getStatus().name().toLowerCase() + ".");
+        }
+        pending.remove(reservationId, reservation);
+        wheelLock.lock();
+        try {
+            wheel.cancel(reservation.timeout);
+        } finally {
+            wheelLock.unlock();
+        }
+        return reservation;
+    }
+
+    // Runs once per tick; pool updates happen after the wheel lock is released
+    private void expireHolds() {
+        List<Reservation> due = new ArrayList<>();
+        wheelLock.lock();
+        try {
+            wheel.advance(System.currentTimeMillis(), due::add);
+        } finally {
+            wheelLock.unlock();
+        }
+        for (Reservation reservation : due) {
+            if (reservation.status.compareAndSet(Status.HELD, Status.EXPIRED)) {
+                pending.remove(reservation.getId(), reservation);
+                try {
+                    reservation.pool.releaseHold(reservation.getCustomerId());
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to expire reservation " + reservation.getId() + ": " + e);
+                }
+                expired.increment();
+            }
+        }
+    }
+
+    // Lifecycle of a hold; only HELD can change
+    public enum Status {
+        HELD, CONFIRMED, RELEASED, EXPIRED
+    }
+
+    /**
+     * One ticket held for a customer until it is confirmed, released or expires.
+     */
+    public static final class Reservation {
+        private final long id;
+        private final String eventId;
+        private final int customerId;
+        private final long expiresAtMillis; // When the ticket goes back to the pool unless confirmed
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.HELD);
+        private final TicketPool pool; // Pool the ticket was taken from
+        private TimerWheel.Timeout<Reservation> timeout; // Expiry entry, guarded by the wheel lock
+
+        private Reservation(long id, String eventId, int customerId, long expiresAtMillis, TicketPool pool) {
+            this.id = id;
+            this.eventId = eventId;
+            this.customerId = customerId;
+            this.expiresAtMillis = expiresAtMillis;
+            this.pool = pool;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getEventId() {
+            return eventId;
+        }
+
+        public int getCustomerId() {
+            return customerId;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        public Status getStatus() {
+            return status.get();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+
+/**
+ * Pool listener that logs activity and pushes availability updates to WebSocket subscribers.
+ * Log lines reach subscribers through the batched log pipeline and availability goes through an
+ * {@link AvailabilityBroadcaster.Channel}, so neither is published on every ticket operation.
+ * Ticket operations are logged as structured events, so this listener allocates nothing per operation.
+ */
+public class TicketEventPublisher implements TicketPoolListener {
+    private final LogService logService; // Logs system activity
+    private final AvailabilityBroadcaster.Channel availability; // Coalesced availability updates
+    private final String logPrefix; // Identifies the event in log lines
+
+    public TicketEventPublisher(LogService logService, AvailabilityBroadcaster.Channel availability, String logPrefix) {
+        this.logService = logService;
+        this.logPrefix = logPrefix;
+        this.availability = availability;
+    }
+
+    @Override
+    public void onStarted(TicketPool pool) {
+        logService.addLog(logPrefix + "System started.");
+        availability.changed(pool, true); // Publish the initial state right away
+    }
+
+    @Override
+    public void onStopped(TicketPool pool) {
+        logService.addLog(logPrefix + "System stopped.");
+    }
+
+    @Override
+    public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+        logService.addEvent(TicketLogEvent.TICKETS_ADDED, logPrefix, vendorId, ticketsAdded, available);
+        availability.changed(pool, available == ticketsAdded); // Restocked from zero
+    }
+
+    @Override
+    public void onTicketBought(TicketPool pool, int customerId, int available) {
+        logService.addEvent(TicketLogEvent.TICKETS_BOUGHT, logPrefix, customerId, 1, available);
+        availability.changed(pool, available == 0); // Just sold out
+    }
+
+    @Override
+    public void onTicketsBought(TicketPool pool, int customerId, int quantity, int available) {
+        logService.addEvent(TicketLogEvent.TICKETS_BOUGHT, logPrefix, customerId, quantity, available);
+        availability.changed(pool, available == 0);
+    }
+
+    @Override
+    public void onTicketHeld(TicketPool pool, int customerId, int available) {
+        logService.addEvent(TicketLogEvent.TICKET_HELD, logPrefix, customerId, 1, available);
+        availability.changed(pool, available == 0);
+    }
+
+    @Override
+    public void onHoldReleased(TicketPool pool, int customerId, int available) {
+        logService.addEvent(TicketLogEvent.HOLD_RELEASED, logPrefix, customerId, 1, available);
+        availability.changed(pool, available == 1); // Back from sold out
+    }
+}
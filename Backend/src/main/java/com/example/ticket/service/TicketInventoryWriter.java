@@ -0,0 +1,390 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.Ticket;
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.repo.TicketRepo;
+import com.example.ticket.util.MpscBoundedQueue;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Write-behind persistence of ticket inventory.
+ * <p>
+ * Every released ticket becomes a {@link Ticket} row named after its event and every sale marks the oldest
+ * unsold row of that event as bought. Pool listeners only enqueue the change; a single writer thread drains
+ * the queue and writes each batch in one transaction, so Hibernate sends the inserts and updates as JDBC
+ * batches and {@code buyTicket} never waits for the database. When the queue is full the producer waits at
+ * most {@code ticket.inventory.max-wait-ms} for the writer; a change that still does not fit is dropped and
+ * counted, and a later sale of a ticket whose release was dropped is recorded as a row of its own. Once the
+ * writer is shut down new changes are dropped as well.
+ * <p>
+ * A REST purchase can ask for the ids of the rows it sold with {@link #recordPurchase}: its sales carry a
+ * future that the writer completes once their batch is committed, and only that request waits for it.
+ */
+@Service // Marks this as a Spring-managed service component
+public class TicketInventoryWriter {
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50); // Back-off when the queue is full
+    private static final double TICKET_PRICE = 0.0; // The simulation has no pricing
+    private static final int NO_VENDOR = -1; // Vendor id of the initial inventory
+
+    private final TicketRepo ticketRepo; // Repository for Ticket rows
+    private final TransactionTemplate transactionTemplate; // One transaction per written batch
+    private final boolean enabled; // Whether inventory is persisted at all
+    private final MpscBoundedQueue<InventoryChange> queue; // Changes waiting for the writer
+    private final int batchSize; // Maximum changes written per transaction
+    private final long flushIntervalNanos; // How long the writer parks when the queue is empty
+    private final long maxWaitNanos; // How long a producer may wait for room in a full queue
+    private final long purchaseWaitNanos; // How long recordPurchase waits for the sold rows to be written
+    private final LogService logService; // Reports failed batches
+
+    private final LongAdder stalls = new LongAdder(); // Times a producer found the queue full
+    private final LongAdder dropped = new LongAdder(); // Changes given up on a full queue or after shutdown
+    private final LongAdder failedBatches = new LongAdder(); // Batches rolled back by the database
+
+    private volatile Thread writer; // Single thread draining the queue
+    private volatile boolean shuttingDown;
+
+    // Writer thread state: unsold tickets per event, oldest first. Entities without an id are not written yet.
+    private final Map<String, ArrayDeque<Ticket>> unsold = new HashMap<>();
+    private final List<InventoryChange> pending = new ArrayList<>();
+    private final Map<InventoryChange, List<Ticket>> soldRows = new HashMap<>(); // Rows of awaited sales in the batch
+
+    // Sales made by the current thread inside recordPurchase, in the order the pool reported them
+    private final ThreadLocal<List<CompletableFuture<List<Long>>>> awaitedSales = new ThreadLocal<>();
+
+    /**
+     * Constructor for injecting dependencies.
+     *
+     * @param ticketRepo         The repository for Ticket rows.
+     * @param transactionManager The transaction manager used for each batch.
+     * @param logService         The logging service.
+     * @param enabled            Whether inventory is persisted.
+     * @param queueCapacity      Maximum number of changes waiting for the writer.
+     * @param batchSize          Maximum changes written per transaction.
+     * @param flushIntervalMs    How long the writer waits for new changes when idle.
+     * @param maxWaitMs          How long a pool thread may wait for room in a full queue before dropping a change.
+     * @param purchaseWaitMs     How long a purchase asking for ticket ids waits for its rows to be written.
+     */
+    @Autowired
+    public TicketInventoryWriter(TicketRepo ticketRepo, PlatformTransactionManager transactionManager,
+                                 LogService logService,
+                                 @Value("${ticket.inventory.enabled:true}") boolean enabled,
+                                 @Value("${ticket.inventory.queue-capacity:65536}") int queueCapacity,
+                                 @Value("${ticket.inventory.batch-size:500}") int batchSize,
+                                 @Value("${ticket.inventory.flush-interval-ms:200}") int flushIntervalMs,
+                                 @Value("${ticket.inventory.max-wait-ms:5}") long maxWaitMs,
+                                 @Value("${ticket.inventory.purchase-wait-ms:5000}") long purchaseWaitMs) {
+        this.ticketRepo = ticketRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.logService = logService;
+        this.enabled = enabled;
+        this.queue = new MpscBoundedQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMs));
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+        this.purchaseWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, purchaseWaitMs));
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (enabled && writer == null) {
+            writer = new Thread(this::writeLoop, "ticket-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Writes what is queued and stops the writer thread. Changes arriving afterwards are dropped.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        shuttingDown = true;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Returns the listener that records an event's releases and sales, or a no-op listener when disabled.
+     * Starting the pool withdraws the event's unsold rows from a previous run and records the initial inventory.
+     */
+    public TicketPoolListener forEvent(String eventId) {
+        if (!enabled) {
+            return new TicketPoolListener() {
+            };
+        }
+        return new TicketPoolListener() {
+            @Override
+            public void onStarted(TicketPool pool) {
+                enqueue(new InventoryChange(ChangeType.RESET, eventId, NO_VENDOR, 0, System.currentTimeMillis()));
+                int initial = pool.getAvailableTickets();
+                if (initial > 0) {
+                    enqueue(new InventoryChange(ChangeType.RELEASE, eventId, NO_VENDOR, initial,
+                            System.currentTimeMillis()));
+                }
+            }
+
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                enqueue(new InventoryChange(ChangeType.RELEASE, eventId, vendorId, ticketsAdded,
+                        System.currentTimeMillis()));
+            }
+
+            @Override
+            public void onTicketBought(TicketPool pool, int customerId, int available) {
+                enqueueSale(eventId, customerId, 1);
+            }
+
+            @Override
+            public void onTicketsBought(TicketPool pool, int customerId, int quantity, int available) {
+                enqueueSale(eventId, customerId, quantity);
+            }
+        };
+    }
+
+    /**
+     * Forgets the in-memory list of an event's unsold tickets once its pool has been dropped.
+     * Rows already written are kept.
+     */
+    public void removeEvent(String eventId) {
+        if (enabled) {
+            enqueue(new InventoryChange(ChangeType.REMOVE, eventId, NO_VENDOR, 0, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Runs a purchase on the calling thread and waits until the rows of the sales it made are written.
+     * Only this caller waits; the pool and other customers never do.
+     *
+     * @param purchase Sells tickets through pools whose listeners come from {@link #forEvent}.
+     * @return The ids of the rows sold, one list per sale in the order the pool reported them; an entry is null
+     * if its rows could not be written in time. Null if the purchase sold nothing, empty when disabled.
+     */
+    public List<List<Long>> recordPurchase(BooleanSupplier purchase) {
+        if (!enabled) {
+            return purchase.getAsBoolean() ? List.of() : null;
+        }
+        List<CompletableFuture<List<Long>>> sales = new ArrayList<>();
+        awaitedSales.set(sales);
+        try {
+            if (!purchase.getAsBoolean()) {
+                return null;
+            }
+        } finally {
+            awaitedSales.remove();
+        }
+        Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current); // Write now rather than after the flush interval
+        }
+
+        long deadline = System.nanoTime() + purchaseWaitNanos;
+        List<List<Long>> ids = new ArrayList<>(sales.size());
+        for (CompletableFuture<List<Long>> sale : sales) {
+            try {
+                ids.add(sale.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (ExecutionException | TimeoutException e) {
+                ids.add(null); // Sold, but the rows are not known (yet)
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ids.add(null);
+            }
+        }
+        return ids;
+    }
+
+    // Number of changes waiting for the writer thread
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Number of times a pool thread had to wait because the queue was full
+    public long getStallCount() {
+        return stalls.sum();
+    }
+
+    // Number of changes dropped because the queue stayed full or the writer was shut down
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Number of batches that could not be written
+    public long getFailedBatchCount() {
+        return failedBatches.sum();
+    }
+
+    // Records a sale; inside recordPurchase the sale also carries a future for the ids of its rows
+    private void enqueueSale(String eventId, int customerId, int quantity) {
+        List<CompletableFuture<List<Long>>> awaited = awaitedSales.get();
+        CompletableFuture<List<Long>> soldIds = awaited != null ? new CompletableFuture<>() : null;
+        if (awaited != null) {
+            awaited.add(soldIds);
+        }
+        enqueue(new InventoryChange(ChangeType.SALE, eventId, customerId, quantity, System.currentTimeMillis(),
+                soldIds));
+    }
+
+    private void enqueue(InventoryChange change) {
+        if (!offer(change)) {
+            dropped.increment();
+            if (change.soldIds() != null) {
+                change.soldIds().completeExceptionally(new IllegalStateException("Inventory change dropped"));
+            }
+        }
+    }
+
+    // Queues a change, waiting a bounded time for room; false if it has to be dropped
+    private boolean offer(InventoryChange change) {
+        if (shuttingDown) {
+            return false; // Nobody is left to write it
+        }
+        if (queue.offer(change)) {
+            return true;
+        }
+        stalls.increment();
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (!queue.offer(change)) {
+            if (shuttingDown || System.nanoTime() - deadline >= 0) {
+                return false; // Keep the database off the purchase path
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        while (true) {
+            int drained = queue.drain(pending::add, batchSize);
+            if (drained == 0) {
+                if (shuttingDown) {
+                    break;
+                }
+                LockSupport.parkNanos(flushIntervalNanos); // Nothing queued; let pools fill a batch
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(pending));
+                soldRows.forEach((sale, tickets) ->
+                        sale.soldIds().complete(tickets.stream().map(Ticket::getId).toList()));
+            } catch (RuntimeException e) {
+                // The batch is lost and ids handed out for it are no longer reliable; start over from the database
+                failedBatches.increment();
+                unsold.clear();
+                soldRows.keySet().forEach(sale -> sale.soldIds().completeExceptionally(e));
+                logService.addLog("Ticket inventory batch of " + pending.size() + " changes failed: " + e.getMessage());
+            }
+            pending.clear();
+            soldRows.clear();
+        }
+    }
+
+    // Applies one batch: new rows are persisted together, sales of rows written by earlier batches are
+    // loaded with a single query and updated in place; both are flushed as JDBC batches on commit
+    private void write(List<InventoryChange> changes) {
+        List<Ticket> inserts = new ArrayList<>();
+        Map<Long, InventoryChange> sales = new HashMap<>();
+
+        for (InventoryChange change : changes) {
+            switch (change.type()) {
+                case RESET -> {
+                    ArrayDeque<Ticket> previous = unsold.remove(change.eventId());
+                    if (previous != null) {
+                        previous.forEach(ticket -> ticket.setAvailable(false)); // Covers rows not written yet
+                    }
+                    ticketRepo.withdrawAvailable(change.eventId());
+                }
+                case RELEASE -> {
+                    ArrayDeque<Ticket> tickets = unsold.computeIfAbsent(change.eventId(), id -> new ArrayDeque<>());
+                    Instant releasedAt = Instant.ofEpochMilli(change.timestampMillis());
+                    for (int i = 0; i < change.count(); i++) {
+                        Ticket ticket = new Ticket(change.eventId(), TICKET_PRICE, true);
+                        ticket.setVendorId(change.actorId() == NO_VENDOR ? null : change.actorId());
+                        ticket.setReleasedAt(releasedAt);
+                        inserts.add(ticket);
+                        tickets.addLast(ticket);
+                    }
+                }
+                case SALE -> {
+                    ArrayDeque<Ticket> tickets = unsold.get(change.eventId());
+                    List<Ticket> sold = change.soldIds() != null
+                            ? soldRows.computeIfAbsent(change, sale -> new ArrayList<>()) : null;
+                    for (int i = 0; i < change.count(); i++) {
+                        Ticket ticket = tickets != null ? tickets.pollFirst() : null;
+                        if (ticket == null) {
+                            // Release not tracked (e.g. after a failed batch); keep a record of the sale anyway
+                            ticket = new Ticket(change.eventId(), TICKET_PRICE, false);
+                            inserts.add(ticket);
+                            markSold(ticket, change);
+                        } else if (ticket.getId() == null) {
+                            markSold(ticket, change); // Released in this batch; inserted already sold
+                        } else {
+                            sales.put(ticket.getId(), change);
+                        }
+                        if (sold != null) {
+                            sold.add(ticket); // Rows inserted in this batch get their id when persisted
+                        }
+                    }
+                }
+                case REMOVE -> unsold.remove(change.eventId());
+            }
+        }
+
+        ticketRepo.saveAll(inserts);
+        if (!sales.isEmpty()) {
+            for (Ticket ticket : ticketRepo.findAllById(sales.keySet())) {
+                markSold(ticket, sales.get(ticket.getId()));
+            }
+        }
+    }
+
+    private static void markSold(Ticket ticket, InventoryChange sale) {
+        ticket.setAvailable(false);
+        ticket.setCustomerId(sale.actorId());
+        ticket.setSoldAt(Instant.ofEpochMilli(sale.timestampMillis()));
+    }
+
+    private enum ChangeType {
+        RESET, // Pool (re)started: withdraw the event's unsold rows
+        RELEASE, // count tickets released by vendor actorId
+        SALE, // count tickets bought by customer actorId
+        REMOVE // Pool dropped: forget the event's unsold rows
+    }
+
+    // Inventory change captured on the pool thread; soldIds is only set for sales whose caller awaits their rows
+    private record InventoryChange(ChangeType type, String eventId, int actorId, int count, long timestampMillis,
+                                   CompletableFuture<List<Long>> soldIds) {
+        private InventoryChange(ChangeType type, String eventId, int actorId, int count, long timestampMillis) {
+            this(type, eventId, actorId, count, timestampMillis, null);
+        }
+    }
+}
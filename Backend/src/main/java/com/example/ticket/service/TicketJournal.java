@@ -0,0 +1,585 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.SimulationSettings;
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.util.MappedSegment;
+import com.example.ticket.util.MpscBoundedQueue;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only journal of pool events for recovering inventory after a restart.
+ * <p>
+ * Pool listeners and the event registry only enqueue records. A single journal thread appends them to a
+ * memory-mapped {@link MappedSegment}, applies them to its own copy of every event's state and forces the
+ * segment according to the {@link JournalFsyncPolicy}, so one fsync covers a whole batch (group commit).
+ * The fsync is asynchronous to the caller: a completed purchase has only been queued for the journal, and
+ * the policy bounds how much queued and appended history a power failure can lose, not which operations
+ * are durable when they return.
+ * Every {@code snapshot-records} records, and whenever a segment is full, it writes that state as a snapshot
+ * and starts a new segment, deleting the ones the snapshot covers. Recovery therefore reads one snapshot and
+ * at most one segment of records, however long the history is. Holds do not survive a restart: their
+ * tickets are recovered as available.
+ * <p>
+ * Pool threads never wait on the disk for long: when the queue is full a producer waits at most
+ * {@code ticket.journal.max-wait-ms} and then drops the record, and records arriving after shutdown are
+ * dropped too. Dropped records are counted; recovered availability is approximate once any were dropped.
+ */
+@Service // Marks this as a Spring-managed service component
+public class TicketJournal {
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50); // Back-off when the queue is full
+    private static final int SNAPSHOT_MAGIC = 0x544B534E; // "TKSN"
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private final boolean enabled; // Whether events are journaled at all
+    private final Path directory; // Segments and snapshots
+    private final int segmentBytes; // Size of each mapped segment
+    private final JournalFsyncPolicy fsyncPolicy; // When appended records are forced to disk
+    private final long fsyncIntervalNanos; // Minimum time between forces for INTERVAL
+    private final long snapshotRecords; // Records between snapshots
+    private final int batchSize; // Maximum records appended per pass
+    private final long maxWaitNanos; // How long a producer may wait for room in a full queue
+    private final MpscBoundedQueue<Record> queue; // Records waiting for the journal thread
+    private final LogService logService; // Reports recovery and I/O failures
+
+    private final LongAdder stalls = new LongAdder(); // Times a producer found the queue full
+    private final LongAdder dropped = new LongAdder(); // Records given up on a full queue or after shutdown
+    private final Map<String, EventState> recovered; // State read at startup, by event id
+
+    private Thread writer; // Single thread appending to the journal
+    private volatile boolean shuttingDown;
+
+    // Journal thread state
+    private final Map<String, EventState> state = new HashMap<>(); // Current state of every journaled event
+    private final ByteBuffer encoded = ByteBuffer.allocate(128); // Reused record encoding buffer; event ids are at most 64 ASCII characters
+    private MappedSegment segment; // Segment receiving appends
+    private long sequence; // Sequence number of the last appended record
+    private long recordsSinceSnapshot;
+    private long lastForceNanos;
+
+    /**
+     * Constructor for injecting dependencies. Recovers the previous state before anything is journaled.
+     *
+     * @param logService       The logging service.
+     * @param enabled          Whether pool events are journaled and recovered.
+     * @param directory        Directory holding journal segments and snapshots.
+     * @param segmentMb        Size of each memory-mapped segment in megabytes.
+     * @param fsyncPolicy      When appended records are forced to the storage device.
+     * @param fsyncIntervalMs  Minimum time between forces for the INTERVAL policy.
+     * @param snapshotRecords  Records appended between two snapshots.
+     * @param queueCapacity    Maximum number of records waiting for the journal thread.
+     * @param batchSize        Maximum records appended per pass.
+     * @param maxWaitMs        How long a pool thread may wait for room in a full queue before dropping a record.
+     */
+    @Autowired
+    public TicketJournal(LogService logService,
+                         @Value("${ticket.journal.enabled:false}") boolean enabled,
+                         @Value("${ticket.journal.dir:data/journal}") String directory,
+                         @Value("${ticket.journal.segment-mb:64}") int segmentMb,
+                         @Value("${ticket.journal.fsync:BATCH}") JournalFsyncPolicy fsyncPolicy,
+                         @Value("${ticket.journal.fsync-interval-ms:100}") long fsyncIntervalMs,
+                         @Value("${ticket.journal.snapshot-records:100000}") long snapshotRecords,
+                         @Value("${ticket.journal.queue-capacity:65536}") int queueCapacity,
+                         @Value("${ticket.journal.batch-size:1024}") int batchSize,
+                         @Value("${ticket.journal.max-wait-ms:5}") long maxWaitMs) {
+        this.logService = logService;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentBytes = Math.max(1, segmentMb) << 20;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        this.snapshotRecords = Math.max(1, snapshotRecords);
+        this.queue = new MpscBoundedQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+        this.recovered = enabled ? recover() : Map.of();
+        if (enabled) {
+            writer = new Thread(this::writeLoop, "ticket-journal");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Appends what is queued, forces it to disk and stops the journal thread. Records arriving afterwards
+     * are dropped.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        shuttingDown = true;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Events found at startup, by event id, in no particular order. Empty when the journal is disabled.
+     */
+    public Map<String, RecoveredEvent> getRecoveredEvents() {
+        Map<String, RecoveredEvent> events = new HashMap<>();
+        recovered.forEach((eventId, event) -> {
+            if (event.settings != null) {
+                events.put(eventId, new RecoveredEvent(event.settings, event.available + event.held, event.running));
+            }
+        });
+        return Collections.unmodifiableMap(events);
+    }
+
+    // Records an event's settings
+    public void recordRegistered(String eventId, SimulationSettings settings) {
+        if (enabled) {
+            enqueue(new Record(RecordType.REGISTER, eventId, 0, settings));
+        }
+    }
+
+    // Records that an event was removed
+    public void recordUnregistered(String eventId) {
+        if (enabled) {
+            enqueue(new Record(RecordType.UNREGISTER, eventId, 0, null));
+        }
+    }
+
+    /**
+     * Returns the listener that journals an event's pool activity, or a no-op listener when disabled.
+     * Callbacks from a pool other than the most recently started one (stragglers of a stopped run) are ignored.
+     */
+    public TicketPoolListener forEvent(String eventId) {
+        if (!enabled) {
+            return new TicketPoolListener() {
+            };
+        }
+        return new TicketPoolListener() {
+            private volatile TicketPool current; // Pool of the latest run
+
+            @Override
+            public void onStarted(TicketPool pool) {
+                current = pool;
+                enqueue(new Record(RecordType.START, eventId, pool.getAvailableTickets(), null));
+            }
+
+            @Override
+            public void onStopped(TicketPool pool) {
+                if (pool == current) {
+                    enqueue(new Record(RecordType.STOP, eventId, 0, null));
+                }
+            }
+
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                if (pool == current) {
+                    enqueue(new Record(RecordType.ADD, eventId, ticketsAdded, null));
+                }
+            }
+
+            @Override
+            public void onTicketBought(TicketPool pool, int customerId, int available) {
+                if (pool == current) {
+                    enqueue(new Record(RecordType.SALE, eventId, 1, null));
+                }
+            }
+
+            @Override
+            public void onTicketsBought(TicketPool pool, int customerId, int quantity, int available) {
+                if (pool == current) {
+                    enqueue(new Record(RecordType.SALE, eventId, quantity, null));
+                }
+            }
+
+            @Override
+            public void onTicketHeld(TicketPool pool, int customerId, int available) {
+                if (pool == current) {
+                    enqueue(new Record(RecordType.HOLD, eventId, 1, null));
+                }
+            }
+
+            @Override
+            public void onHoldConfirmed(TicketPool pool, int customerId, int available) {
+                if (pool == current) {
+                    enqueue(new Record(RecordType.CONFIRM, eventId, 1, null));
+                }
+            }
+
+            @Override
+            public void onHoldReleased(TicketPool pool, int customerId, int available) {
+                if (pool == current) {
+                    enqueue(new Record(RecordType.RELEASE, eventId, 1, null));
+                }
+            }
+        };
+    }
+
+    // Number of records waiting for the journal thread
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // Number of times a pool thread had to wait because the queue was full
+    public long getStallCount() {
+        return stalls.sum();
+    }
+
+    // Number of records dropped because the queue stayed full or the journal was shut down
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void enqueue(Record record) {
+        if (shuttingDown) {
+            dropped.increment(); // The journal thread has stopped or is about to
+            return;
+        }
+        if (queue.offer(record)) {
+            return;
+        }
+        stalls.increment();
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (!queue.offer(record)) {
+            if (shuttingDown || System.nanoTime() - deadline >= 0) {
+                dropped.increment(); // Keep the disk off the purchase path
+                return;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+    }
+
+    // Reads the newest snapshot and the records after it, then snapshots the result so the next start is fast
+    private Map<String, EventState> recover() {
+        try {
+            Files.createDirectories(directory);
+            long snapshotSequence = 0;
+            for (Map.Entry<Long, Path> snapshot : listFiles(SNAPSHOT_PREFIX, ".snap").descendingMap().entrySet()) {
+                try {
+                    readSnapshot(snapshot.getValue());
+                    snapshotSequence = snapshot.getKey();
+                    break;
+                } catch (IOException e) {
+                    state.clear(); // Damaged snapshot; fall back to an older one
+                }
+            }
+            sequence = snapshotSequence;
+            int replayed = 0;
+            for (Path path : listFiles(SEGMENT_PREFIX, ".log").values()) {
+                replayed += MappedSegment.read(path, body -> {
+                    Record record = decode(body);
+                    if (record.sequence() > sequence) {
+                        apply(record);
+                        sequence = record.sequence();
+                    }
+                });
+            }
+            rotate(); // Snapshot the recovered state and start an empty segment
+            logService.addLog("Journal recovered " + state.size() + " events from snapshot " + snapshotSequence
+                    + " and " + replayed + " journal records.");
+            Map<String, EventState> copy = new HashMap<>();
+            state.forEach((eventId, event) -> copy.put(eventId, event.copy()));
+            return copy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover the ticket journal in " + directory, e);
+        }
+    }
+
+    private void writeLoop() {
+        List<Record> batch = new ArrayList<>();
+        while (true) {
+            int drained = queue.drain(batch::add, batchSize);
+            if (drained == 0) {
+                if (shuttingDown) {
+                    break;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1)); // Nothing queued
+                continue;
+            }
+            try {
+                for (Record record : batch) {
+                    append(record);
+                }
+                if (recordsSinceSnapshot >= snapshotRecords) {
+                    rotate();
+                } else {
+                    commit();
+                }
+            } catch (IOException | RuntimeException e) {
+                logService.addLog("Journal write failed, " + batch.size() + " records may be lost: " + e);
+            }
+            batch.clear();
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            logService.addLog("Journal close failed: " + e);
+        }
+    }
+
+    private void append(Record record) throws IOException {
+        Record sequenced = record.withSequence(sequence + 1);
+        encode(sequenced);
+        if (!segment.append(encoded)) {
+            rotate(); // Segment full: snapshot and continue in a fresh one
+            encode(sequenced);
+            segment.append(encoded);
+        }
+        sequence = sequenced.sequence();
+        apply(sequenced);
+        recordsSinceSnapshot++;
+    }
+
+    // Group commit: one force covers every record appended since the previous one
+    private void commit() {
+        long now = System.nanoTime();
+        if (fsyncPolicy == JournalFsyncPolicy.BATCH
+                || fsyncPolicy == JournalFsyncPolicy.INTERVAL && now - lastForceNanos >= fsyncIntervalNanos) {
+            segment.force();
+            lastForceNanos = now;
+        }
+    }
+
+    // Writes a snapshot of the current state, starts a new segment after it and deletes what the snapshot covers
+    private void rotate() throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        Path snapshot = directory.resolve(SNAPSHOT_PREFIX + sequence + ".snap");
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + sequence + ".tmp");
+        writeSnapshot(temporary);
+        Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Path next = directory.resolve(SEGMENT_PREFIX + (sequence + 1) + ".log");
+        segment = MappedSegment.create(next, segmentBytes);
+        for (Path old : listFiles(SEGMENT_PREFIX, ".log").headMap(sequence + 1).values()) {
+            Files.deleteIfExists(old);
+        }
+        for (Path old : listFiles(SNAPSHOT_PREFIX, ".snap").headMap(sequence).values()) {
+            Files.deleteIfExists(old);
+        }
+        recordsSinceSnapshot = 0;
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void writeSnapshot(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(sequence);
+            out.writeInt(state.size());
+            for (Map.Entry<String, EventState> entry : state.entrySet()) {
+                EventState event = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeBoolean(event.settings != null);
+                if (event.settings != null) {
+                    writeSettings(out, event.settings);
+                }
+                out.writeInt(event.available);
+                out.writeInt(event.held);
+                out.writeBoolean(event.running);
+            }
+            out.flush();
+            file.write(ByteBuffer.allocate(8).putLong(crc.getValue()).array()); // Trailer outside the checksum
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private void readSnapshot(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        state.clear();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(path));
+             DataInputStream in = new DataInputStream(new CheckedInputStream(file, crc))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a journal snapshot: " + path);
+            }
+            in.readLong(); // Sequence, also part of the file name
+            int events = in.readInt();
+            for (int i = 0; i < events; i++) {
+                String eventId = in.readUTF();
+                EventState event = new EventState();
+                if (in.readBoolean()) {
+                    event.settings = readSettings(in);
+                }
+                event.available = in.readInt();
+                event.held = in.readInt();
+                event.running = in.readBoolean();
+                state.put(eventId, event);
+            }
+            long expected = crc.getValue();
+            if (new DataInputStream(file).readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+        }
+    }
+
+    // Files named prefix + sequence + suffix, by sequence
+    private TreeMap<Long, Path> listFiles(String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            paths.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                    try {
+                        files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), path);
+                    } catch (NumberFormatException e) {
+                        // Not one of ours
+                    }
+                }
+            });
+        }
+        return files;
+    }
+
+    private void apply(Record record) {
+        if (record.type() == RecordType.UNREGISTER) {
+            state.remove(record.eventId());
+            return;
+        }
+        EventState event = state.computeIfAbsent(record.eventId(), id -> new EventState());
+        switch (record.type()) {
+            case REGISTER -> event.settings = record.settings();
+            case START -> {
+                event.available = record.count();
+                event.held = 0;
+                event.running = true;
+            }
+            case STOP -> event.running = false;
+            case ADD -> event.available += record.count();
+            case SALE -> event.available -= record.count();
+            case HOLD -> {
+                event.available -= record.count();
+                event.held += record.count();
+            }
+            case CONFIRM -> event.held -= record.count();
+            case RELEASE -> {
+                event.available += record.count();
+                event.held -= record.count();
+            }
+            default -> throw new IllegalStateException("Unexpected record " + record.type());
+        }
+    }
+
+    // Body layout: type, sequence, event id (length-prefixed UTF-8), count, settings for REGISTER
+    private void encode(Record record) {
+        byte[] eventId = record.eventId().getBytes(StandardCharsets.UTF_8);
+        encoded.clear();
+        encoded.put((byte) record.type().ordinal());
+        encoded.putLong(record.sequence());
+        encoded.put((byte) eventId.length);
+        encoded.put(eventId);
+        encoded.putInt(record.count());
+        if (record.type() == RecordType.REGISTER) {
+            SimulationSettings settings = record.settings();
+            encoded.putInt(settings.totalTickets()).putInt(settings.ticketReleaseRate())
+                    .putInt(settings.customerRetrievalRate()).putInt(settings.maxTicketCapacity())
+                    .putInt(settings.numberOfVendors()).putInt(settings.numberOfCustomers());
+        }
+        encoded.flip();
+    }
+
+    private static Record decode(ByteBuffer body) {
+        RecordType type = RecordType.values()[body.get()];
+        long sequence = body.getLong();
+        byte[] eventId = new byte[body.get() & 0xFF];
+        body.get(eventId);
+        int count = body.getInt();
+        SimulationSettings settings = type == RecordType.REGISTER
+                ? new SimulationSettings(body.getInt(), body.getInt(), body.getInt(), body.getInt(), body.getInt(),
+                body.getInt())
+                : null;
+        return new Record(type, new String(eventId, StandardCharsets.UTF_8), count, settings).withSequence(sequence);
+    }
+
+    private static void writeSettings(DataOutputStream out, SimulationSettings settings) throws IOException {
+        out.writeInt(settings.totalTickets());
+        out.writeInt(settings.ticketReleaseRate());
+        out.writeInt(settings.customerRetrievalRate());
+        out.writeInt(settings.maxTicketCapacity());
+        out.writeInt(settings.numberOfVendors());
+        out.writeInt(settings.numberOfCustomers());
+    }
+
+    private static SimulationSettings readSettings(DataInputStream in) throws IOException {
+        return new SimulationSettings(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                in.readInt());
+    }
+
+    /**
+     * State of an event as recovered from the journal.
+     *
+     * @param settings  The event's last registered settings.
+     * @param available Tickets available when the process stopped, including tickets that were on hold.
+     * @param running   Whether the event was running when the process stopped.
+     */
+    public record RecoveredEvent(SimulationSettings settings, int available, boolean running) {
+    }
+
+    // Journal thread's view of one event
+    private static final class EventState {
+        private SimulationSettings settings; // Null if the event was journaled before it was registered
+        private int available;
+        private int held;
+        private boolean running;
+
+        private EventState copy() {
+            EventState copy = new EventState();
+            copy.settings = settings;
+            copy.available = available;
+            copy.held = held;
+            copy.running = running;
+            return copy;
+        }
+    }
+
+    // Never reorder: the ordinal is the on-disk type code
+    private enum RecordType {
+        REGISTER, UNREGISTER, START, STOP, ADD, SALE, HOLD, CONFIRM, RELEASE
+    }
+
+    // One journal entry; sequence is assigned by the journal thread
+    private record Record(RecordType type, String eventId, int count, SimulationSettings settings, long sequence) {
+        Record(RecordType type, String eventId, int count, SimulationSettings settings) {
+            this(type, eventId, count, settings, 0);
+        }
+
+        Record withSequence(long sequence) {
+            return new Record(type, eventId, count, settings, sequence);
+        }
+    }
+}
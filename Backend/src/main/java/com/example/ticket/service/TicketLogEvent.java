@@ -0,0 +1,49 @@
+package com.example.ticket.service;
+
+/**
+ * Kinds of pool activity logged through {@link LogService#addEvent}. Producers only record the kind and
+ * its numbers; the log pipeline renders the line on its own thread.
+ */
+public enum TicketLogEvent {
+
+    TEXT, // A ready-made message, see LogService.addLog
+    TICKETS_ADDED, // A vendor added count tickets
+    TICKETS_BOUGHT, // A customer bought count tickets
+    TICKET_HELD, // A customer reserved a ticket
+    HOLD_RELEASED; // A customer's reservation went back to the pool
+
+    private static final TicketLogEvent[] VALUES = values(); // Cached, values() copies the array
+
+    static TicketLogEvent of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    // Appends the message text for an actor (vendor or customer id), a ticket count and the availability after
+    void render(StringBuilder line, int actor, int count, int available) {
+        switch (this) {
+            case TEXT -> {
+            }
+            case TICKETS_ADDED -> {
+                line.append("Vendor ").append(actor);
+                appendTickets(line.append(" added "), count);
+            }
+            case TICKETS_BOUGHT -> {
+                line.append("Customer ").append(actor);
+                appendTickets(line.append(" bought "), count);
+            }
+            case TICKET_HELD -> line.append("Customer ").append(actor).append(" reserved a ticket");
+            case HOLD_RELEASED -> line.append("Reservation of customer ").append(actor).append(" released");
+        }
+        if (this != TEXT) {
+            line.append(". Available tickets: ").append(available);
+        }
+    }
+
+    private static void appendTickets(StringBuilder line, int count) {
+        if (count == 1) {
+            line.append("a ticket");
+        } else {
+            line.append(count).append(" tickets");
+        }
+    }
+}
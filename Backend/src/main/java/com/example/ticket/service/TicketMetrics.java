@@ -0,0 +1,158 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of the ticket hot paths, exposed through the Actuator metrics endpoint.
+ * Meters are created once per event and only incremented on the hot path, so recording stays cheap
+ * enough to leave on under full load.
+ */
+@Service // Marks this as a Spring-managed service component
+public class TicketMetrics {
+
+    private final MeterRegistry registry; // Registry backing /actuator/metrics
+    private final Map<String, EventMeters> events = new ConcurrentHashMap<>(); // Meters by event id
+
+    /**
+     * Constructor for TicketMetrics. Registers the log pipeline, inventory writer and journal meters.
+     *
+     * @param registry        The registry meters are registered with.
+     * @param logService      The log pipeline whose queue is observed.
+     * @param inventoryWriter The write-behind inventory whose queue is observed.
+     * @param journal         The recovery journal whose queue is observed.
+     */
+    public TicketMetrics(MeterRegistry registry, LogService logService, TicketInventoryWriter inventoryWriter,
+                         TicketJournal journal) {
+        this.registry = registry;
+        Gauge.builder("ticket.log.queue.depth", logService, LogService::getQueueDepth)
+                .description("Log entries waiting to be stored and broadcast")
+                .register(registry);
+        FunctionCounter.builder("ticket.log.dropped", logService, LogService::getDroppedCount)
+                .description("Log entries discarded by the overflow policy")
+                .register(registry);
+        Gauge.builder("ticket.inventory.queue.depth", inventoryWriter, TicketInventoryWriter::getQueueDepth)
+                .description("Inventory changes waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("ticket.inventory.dropped", inventoryWriter, TicketInventoryWriter::getDroppedCount)
+                .description("Inventory changes dropped on a full queue or after shutdown")
+                .register(registry);
+        Gauge.builder("ticket.journal.queue.depth", journal, TicketJournal::getQueueDepth)
+                .description("Journal records waiting to be appended")
+                .register(registry);
+        FunctionCounter.builder("ticket.journal.dropped", journal, TicketJournal::getDroppedCount)
+                .description("Journal records dropped on a full queue or after shutdown")
+                .register(registry);
+    }
+
+    /**
+     * Registers a gauge with the number of events whose pool is currently in memory.
+     */
+    public void bindActiveEvents(Map<String, ?> activeEvents) {
+        Gauge.builder("ticket.events.active", activeEvents, Map::size)
+                .description("Events with a loaded ticket pool")
+                .register(registry);
+    }
+
+    /**
+     * Returns the pool listener recording the meters of an event, creating them on first use.
+     */
+    public EventMeters forEvent(String eventId) {
+        return events.computeIfAbsent(eventId, EventMeters::new);
+    }
+
+    /**
+     * Unregisters the meters of an event.
+     */
+    public void removeEvent(String eventId) {
+        EventMeters meters = events.remove(eventId);
+        if (meters != null) {
+            meters.meters.forEach(registry::remove);
+        }
+    }
+
+    /**
+     * Pool listener updating the meters of one event.
+     */
+    public final class EventMeters implements TicketPoolListener {
+        private final Counter purchases;
+        private final Counter failedPurchases;
+        private final Counter releases;
+        private final Counter rejectedReleases;
+        private final Counter releasedTickets;
+        private final Timer lockWait;
+        private final Timer lockHold;
+        private final List<Meter> meters; // Everything registered for this event
+        private volatile TicketPool pool; // Pool of the current run, observed by the available gauge
+
+        private EventMeters(String eventId) {
+            purchases = Counter.builder("ticket.purchases").tags("event", eventId, "result", "success")
+                    .description("Ticket purchase attempts").register(registry);
+            failedPurchases = Counter.builder("ticket.purchases").tags("event", eventId, "result", "failure")
+                    .description("Ticket purchase attempts").register(registry);
+            releases = Counter.builder("ticket.releases").tags("event", eventId, "result", "success")
+                    .description("Vendor ticket release attempts").register(registry);
+            rejectedReleases = Counter.builder("ticket.releases").tags("event", eventId, "result", "failure")
+                    .description("Vendor ticket release attempts").register(registry);
+            releasedTickets = Counter.builder("ticket.released.tickets").tag("event", eventId)
+                    .description("Tickets added to the pool by vendors").register(registry);
+            lockWait = Timer.builder("ticket.pool.lock.wait").tag("event", eventId)
+                    .description("Time spent waiting for the pool lock (LOCKING mode)").register(registry);
+            lockHold = Timer.builder("ticket.pool.lock.hold").tag("event", eventId)
+                    .description("Time the pool lock was held (LOCKING mode)").register(registry);
+            Gauge available = Gauge.builder("ticket.available", this, EventMeters::availableTickets).tag("event", eventId)
+                    .description("Tickets currently available").register(registry);
+            meters = List.of(purchases, failedPurchases, releases, rejectedReleases, releasedTickets,
+                    lockWait, lockHold, available);
+        }
+
+        private double availableTickets() {
+            TicketPool current = pool;
+            return current != null ? current.getAvailableTickets() : 0;
+        }
+
+        @Override
+        public void onStarted(TicketPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+            releases.increment();
+            releasedTickets.increment(ticketsAdded);
+        }
+
+        @Override
+        public void onTicketBought(TicketPool pool, int customerId, int available) {
+            purchases.increment();
+        }
+
+        @Override
+        public void onBuyFailed(TicketPool pool, int customerId) {
+            failedPurchases.increment();
+        }
+
+        @Override
+        public void onAddRejected(TicketPool pool, int vendorId, int requested) {
+            rejectedReleases.increment();
+        }
+
+        @Override
+        public void onLockTimed(TicketPool pool, long waitNanos, long holdNanos) {
+            lockWait.record(waitNanos, TimeUnit.NANOSECONDS);
+            lockHold.record(holdNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
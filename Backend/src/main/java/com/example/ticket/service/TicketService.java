@@ -1,106 +1,459 @@
 package com.example.ticket.service;
 
+import com.example.ticket.model.ParticipantLimiter;
+import com.example.ticket.model.SeatMap;
+import com.example.ticket.model.SeatMapTicketPool;
+import com.example.ticket.model.SimulationSettings;
 import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.model.TicketPoolMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import com.example.ticket.controller.WebSocketController;
 
-import java.util.concurrent.ExecutorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Service for managing the ticketing system, including vendors and customers.
+ * <p>
+ * Every event has its own independently configured pool. Registering an event only stores its settings;
+ * the pool and participants are created when the event is started and dropped again once the event has
+ * been stopped and idle for {@code ticket.events.idle-timeout-ms}. The original single-event API works
+ * on the {@value #DEFAULT_EVENT_ID} event.
  */
 @Service // Marks this as a Spring-managed service component
 public class TicketService {
-    private TicketPool ticketPool; // Represents the shared pool of tickets
+    public static final String DEFAULT_EVENT_ID = "default"; // Event used by the /api/ticket endpoints
+    private static final Pattern EVENT_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}"); // Safe in topic names
+
     private final LogService logService; // Service for logging system events
-    private final WebSocketController webSocketController; // WebSocket controller for broadcasting updates
-    private ExecutorService executorService; // Thread pool for managing vendor and customer threads
+    private final AvailabilityBroadcaster availabilityBroadcaster; // Coalesces availability updates
+    private final TicketMetrics ticketMetrics; // Per-event counters, timers and gauges
+    private final ParticipantStats participantStats; // Per-vendor and per-customer counters
+    private final TicketInventoryWriter inventoryWriter; // Persists releases and sales as Ticket rows
+    private final TicketJournal journal; // Journals registrations and pool events for recovery
+    private final TicketStream ticketStream; // SSE feed of status, availability and logs
+    private final TicketPoolMode poolMode; // Ticket pool implementation to create on start
+    private final int poolStripes; // Stripe count for STRIPED pools, 0 for one per core
+    private final SeatMap.Layout seatLayout; // Venue shape for SEATED pools
+    private final ExecutionMode executionMode; // How vendor and customer participants are scheduled
+    private final long idleTimeoutMillis; // How long a stopped event keeps its pool
+    private final boolean customersWait; // Whether simulated customers queue in the waiting room
+    private final int waitingRoomCapacity; // Maximum customers waiting per event
+    private final AdmissionOrder admissionOrder; // Order in which waiting customers are admitted
+    private final long maxWaitMillis; // Longest wait an API caller may ask for in the waiting room
+    private final LoadGenerator.Profile loadProfile; // Arrival distribution, seed and rates of simulated load
+    private final ParticipantLimiter.Policy limitPolicy; // Per-customer and per-vendor limits of every run
+    private final long drainTimeoutMillis; // How long stopping a run waits for its participants
+    private final long threadKeepAliveMillis; // How long idle participant threads are kept between runs
+
+    private final Map<String, SimulationSettings> registeredEvents = new ConcurrentHashMap<>(); // Settings by event id
+    private final Map<String, EventSimulation> activeEvents = new ConcurrentHashMap<>(); // Loaded pools by event id
+    private final ScheduledExecutorService evictionScheduler; // Periodically drops idle pools
 
     /**
      * Constructor for injecting dependencies.
      *
-     * @param logService          The logging service.
-     * @param webSocketController The WebSocket controller.
+     * @param logService              The logging service.
+     * @param availabilityBroadcaster The broadcaster for ticket availability.
+     * @param ticketMetrics           The metrics recorder.
+     * @param participantStats        The per-participant counters.
+     * @param inventoryWriter         The write-behind ticket inventory.
+     * @param journal                 The recovery journal.
+     * @param ticketStream            The SSE feed that receives status changes.
+     * @param poolMode                The ticket pool implementation to use.
+     * @param poolStripes             Number of stripes for the STRIPED pool mode, 0 for one per core.
+     * @param seatSections            Sections of the venue for the SEATED pool mode.
+     * @param seatRowsPerSection      Rows per section; more are added when the total tickets do not fit.
+     * @param seatsPerRow             Seats per row, the largest block of adjacent seats one order can get.
+     * @param executionMode           The thread model for vendors and customers.
+     * @param drainTimeoutMs          How long stopping a run waits for operations already handed to participants.
+     * @param threadKeepAliveMs       How long idle participant threads are kept for the next run.
+     * @param idleTimeoutMs           How long a stopped event keeps its pool before it is evicted.
+     * @param customersWait           Whether simulated customers queue in the waiting room instead of retrying.
+     * @param waitingRoomCapacity     Maximum customers waiting per event.
+     * @param admissionOrder          Order in which waiting customers are admitted.
+     * @param maxWaitMs               Longest wait an API caller may ask for in the waiting room.
+     * @param loadDistribution        How simulated vendor and customer arrivals are spaced.
+     * @param loadSeed                Seed of the arrival schedule, for reproducible runs.
+     * @param loadBurstSize           Arrivals per burst for the BURST distribution.
+     * @param vendorOpsPerSecond      Target ticket releases per second, negative to derive from the settings.
+     * @param customerOpsPerSecond    Target purchase attempts per second, negative to derive from the settings.
+     * @param loadMaxInFlight         Outstanding simulated operations above which arrivals are skipped.
+     * @param customerMaxTickets      Tickets one customer may buy per run, 0 for no cap.
+     * @param customerRequestsPerSecond Purchase requests one customer may send per second, 0 for no limit.
+     * @param customerBurst           Purchase requests a customer may send at once after being idle.
+     * @param vendorMaxTickets        Tickets one vendor may release per run, 0 for no cap.
+     * @param limitTableSize          Participants whose usage is tracked at a time, per table.
+     * @param limitEntryTtlMs         Idle time after which a participant's usage is forgotten.
      */
-    public TicketService(LogService logService, WebSocketController webSocketController) {
+    public TicketService(LogService logService, AvailabilityBroadcaster availabilityBroadcaster,
+                         TicketMetrics ticketMetrics, ParticipantStats participantStats,
+                         TicketInventoryWriter inventoryWriter, TicketJournal journal,
+                         TicketStream ticketStream,
+                         @Value("${ticket.pool.mode:ATOMIC}") TicketPoolMode poolMode,
+                         @Value("${ticket.pool.stripes:0}") int poolStripes,
+                         @Value("${ticket.seats.sections:4}") int seatSections,
+                         @Value("${ticket.seats.rows-per-section:250}") int seatRowsPerSection,
+                         @Value("${ticket.seats.seats-per-row:100}") int seatsPerRow,
+                         @Value("${ticket.execution.mode:PLATFORM}") ExecutionMode executionMode,
+                         @Value("${ticket.execution.drain-timeout-ms:2000}") long drainTimeoutMs,
+                         @Value("${ticket.execution.thread-keep-alive-ms:60000}") long threadKeepAliveMs,
+                         @Value("${ticket.events.idle-timeout-ms:600000}") long idleTimeoutMs,
+                         @Value("${ticket.waiting-room.enabled:false}") boolean customersWait,
+                         @Value("${ticket.waiting-room.capacity:10000}") int waitingRoomCapacity,
+                         @Value("${ticket.waiting-room.order:FIFO}") AdmissionOrder admissionOrder,
+                         @Value("${ticket.waiting-room.max-wait-ms:30000}") long maxWaitMs,
+                         @Value("${ticket.load.distribution:CONSTANT}") ArrivalDistribution loadDistribution,
+                         @Value("${ticket.load.seed:42}") long loadSeed,
+                         @Value("${ticket.load.burst-size:50}") int loadBurstSize,
+                         @Value("${ticket.load.vendor-ops-per-second:-1}") double vendorOpsPerSecond,
+                         @Value("${ticket.load.customer-ops-per-second:-1}") double customerOpsPerSecond,
+                         @Value("${ticket.load.max-in-flight:100000}") int loadMaxInFlight,
+                         @Value("${ticket.limits.customer-max-tickets:0}") int customerMaxTickets,
+                         @Value("${ticket.limits.customer-requests-per-second:0}") double customerRequestsPerSecond,
+                         @Value("${ticket.limits.customer-burst:10}") int customerBurst,
+                         @Value("${ticket.limits.vendor-max-tickets:0}") int vendorMaxTickets,
+                         @Value("${ticket.limits.table-size:65536}") int limitTableSize,
+                         @Value("${ticket.limits.entry-ttl-ms:600000}") long limitEntryTtlMs) {
         this.logService = logService;
-        this.webSocketController = webSocketController;
+        this.availabilityBroadcaster = availabilityBroadcaster;
+        this.ticketMetrics = ticketMetrics;
+        ticketMetrics.bindActiveEvents(activeEvents);
+        this.participantStats = participantStats;
+        this.inventoryWriter = inventoryWriter;
+        this.journal = journal;
+        this.ticketStream = ticketStream;
+        this.poolMode = poolMode;
+        this.poolStripes = poolStripes;
+        this.seatLayout = new SeatMap.Layout(seatSections, seatRowsPerSection, seatsPerRow);
+        this.executionMode = executionMode;
+        this.drainTimeoutMillis = drainTimeoutMs;
+        this.threadKeepAliveMillis = threadKeepAliveMs;
+        this.idleTimeoutMillis = idleTimeoutMs;
+        this.customersWait = customersWait;
+        this.waitingRoomCapacity = waitingRoomCapacity;
+        this.admissionOrder = admissionOrder;
+        this.maxWaitMillis = maxWaitMs;
+        this.loadProfile = new LoadGenerator.Profile(loadDistribution, loadSeed, loadBurstSize, vendorOpsPerSecond,
+                customerOpsPerSecond, loadMaxInFlight);
+        this.limitPolicy = new ParticipantLimiter.Policy(customerMaxTickets, customerRequestsPerSecond, customerBurst,
+                vendorMaxTickets, limitTableSize, limitEntryTtlMs);
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMs / 4);
+        evictionScheduler.scheduleWithFixedDelay(this::evictIdleEvents, period, period, TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Starts the ticketing system with the specified configuration.
+     * Re-registers the events found in the journal and resumes the ones that were running, with the
+     * availability they had when the process stopped.
+     */
+    @PostConstruct
+    public void restoreEvents() {
+        journal.getRecoveredEvents().forEach((eventId, event) -> {
+            registeredEvents.put(eventId, event.settings());
+            if (event.running()) {
+                startEvent(eventId, event.available());
+            }
+        });
+    }
+
+    /**
+     * Stops every event and the eviction task. All events share one drain deadline, so shutdown takes at
+     * most about one drain timeout however many events are running.
+     */
+    @PreDestroy
+    public void shutdown() {
+        evictionScheduler.shutdownNow();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+        activeEvents.values().forEach(simulation -> simulation.close(deadline));
+    }
+
+    /**
+     * Registers an event or replaces its settings. A running event keeps its current settings until restarted.
      *
-     * @param totalTickets        Total number of tickets in the system.
-     * @param ticketReleaseRate   Rate at which vendors release tickets (in ms).
-     * @param customerRetrievalRate Rate at which customers retrieve tickets (in ms).
-     * @param maxTicketCapacity   Maximum number of tickets available at any given time.
+     * @throws IllegalArgumentException if the event id is not valid.
+     */
+    public void registerEvent(String eventId, SimulationSettings settings) {
+        validateEventId(eventId);
+        registeredEvents.put(eventId, settings);
+        journal.recordRegistered(eventId, settings);
+    }
+
+    /**
+     * Stops and forgets an event.
+     *
+     * @return false if the event was not registered.
      */
-    public void startSystem(int totalTickets, int ticketReleaseRate, int customerRetrievalRate, int maxTicketCapacity) {
-        // Stop the system if already running
-        if (ticketPool != null && ticketPool.isRunning()) {
-            stopSystem();
-        }
-
-        // Initialize the ticket pool with the configuration
-        ticketPool = new TicketPool(totalTickets, maxTicketCapacity, ticketReleaseRate, customerRetrievalRate, logService, webSocketController);
-        ticketPool.start();
-
-        int numberOfVendors = 500; // Number of vendor threads
-        int numberOfCustomers = 500; // Number of customer threads
-
-        // Create a thread pool for vendors and customers
-        executorService = Executors.newFixedThreadPool(numberOfVendors + numberOfCustomers);
-
-        // Create and submit vendor threads
-        for (int i = 1; i <= numberOfVendors; i++) {
-            final int vendorId = i;
-            executorService.submit(() -> {
-                while (ticketPool.isRunning()) {
-                    ticketPool.addTicket(vendorId); // Add tickets to the pool
-                    try {
-                        Thread.sleep(ticketPool.getTicketReleaseRate()); // Simulate ticket release interval
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt(); // Handle thread interruption
-                        break;
-                    }
+    public boolean unregisterEvent(String eventId) {
+        if (registeredEvents.remove(eventId) == null) {
+            return false;
+        }
+        journal.recordUnregistered(eventId);
+        EventSimulation simulation = activeEvents.remove(eventId);
+        if (simulation != null) {
+            // Drain outside any map operation, so lookups of the event do not wait for the participants
+            simulation.close(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis));
+            activeEvents.compute(eventId, (id, current) -> {
+                if (current == null) {
+                    releaseEventResources(id); // Unless the event was registered and started again meanwhile
                 }
+                return current;
             });
         }
+        return true;
+    }
 
-        // Create and submit customer threads
-        for (int i = 1; i <= numberOfCustomers; i++) {
-            final int customerId = i;
-            executorService.submit(() -> {
-                while (ticketPool.isRunning()) {
-                    ticketPool.buyTicket(customerId); // Customers try to buy tickets
-                    try {
-                        Thread.sleep(ticketPool.getCustomerRetrievalRate()); // Simulate ticket retrieval interval
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt(); // Handle thread interruption
-                        break;
-                    }
-                }
-            });
+    /**
+     * Starts an event with its registered settings, creating its pool.
+     *
+     * @throws IllegalArgumentException if the event is not registered.
+     */
+    public void startEvent(String eventId) {
+        startEvent(eventId, -1);
+    }
+
+    // Starts an event whose pool begins with initialTickets available, -1 for the settings' total
+    private void startEvent(String eventId, int initialTickets) {
+        SimulationSettings settings = registeredEvents.get(eventId);
+        if (settings == null) {
+            throw new IllegalArgumentException("Event " + eventId + " is not registered.");
+        }
+        while (true) {
+            EventSimulation simulation = activeEvents.computeIfAbsent(eventId, this::newSimulation);
+            if (simulation.start(settings, initialTickets)) {
+                return;
+            }
+            activeEvents.remove(eventId, simulation); // Lost a race with eviction; create a fresh simulation
+        }
+    }
+
+    /**
+     * Changes an event's rates and capacity. The new settings are registered and journaled, and a running
+     * event applies them immediately without restarting, keeping its available tickets.
+     *
+     * @return The event's settings now in effect.
+     * @throws IllegalArgumentException if the event is not registered or the capacity exceeds its total tickets.
+     */
+    public SimulationSettings reconfigureEvent(String eventId, int ticketReleaseRate, int customerRetrievalRate,
+                                 int maxTicketCapacity) {
+        SimulationSettings updated = registeredEvents.computeIfPresent(eventId, (id, settings) -> {
+            if (maxTicketCapacity > settings.totalTickets()) {
+                throw new IllegalArgumentException("Max ticket capacity cannot exceed the total tickets.");
+            }
+            return new SimulationSettings(settings.totalTickets(), ticketReleaseRate, customerRetrievalRate,
+                    maxTicketCapacity, settings.numberOfVendors(), settings.numberOfCustomers());
+        });
+        if (updated == null) {
+            throw new IllegalArgumentException("Event " + eventId + " is not registered.");
         }
+        journal.recordRegistered(eventId, updated);
+        EventSimulation simulation = activeEvents.get(eventId);
+        if (simulation != null) {
+            simulation.reconfigure(updated); // No-op when stopped; the next start picks up the settings
+        }
+        return updated;
+    }
 
-        // Log system startup
-        logService.addLog("System started with configuration: Total Tickets = " + totalTickets +
-                ", Ticket Release Rate = " + ticketReleaseRate + "ms, Customer Retrieval Rate = " +
-                customerRetrievalRate + "ms, Max Ticket Capacity = " + maxTicketCapacity);
+    /**
+     * Stops an event. Its pool stays loaded until it has been idle long enough to be evicted.
+     */
+    public void stopEvent(String eventId) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        if (simulation != null) {
+            simulation.stop();
+        }
     }
 
     /**
-     * Stops the ticketing system and shuts down all threads.
+     * Adds multiple tickets to an event's pool from a vendor.
+     *
+     * @throws IllegalStateException if the event is not running.
      */
-    public void stopSystem() {
-        if (ticketPool != null) {
-            ticketPool.stop(); // Stop the ticket pool
+    public void addTickets(String eventId, int numberOfTickets, int vendorId) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        if (simulation == null) {
+            throw new IllegalStateException("System is not running. Cannot add tickets.");
+        }
+        simulation.addTickets(numberOfTickets, vendorId);
+    }
+
+    /**
+     * Sells quantities[i] tickets to customerIds[i] for every i in one all-or-nothing pool operation, then waits
+     * (bounded by {@code ticket.inventory.purchase-wait-ms}) for the write-behind inventory to record the sale.
+     *
+     * @return The ids of the Ticket rows sold to customerIds[i] at index i; an entry is null if inventory
+     * persistence is disabled or the rows were not written in time.
+     * @throws IllegalArgumentException if the order is malformed.
+     * @throws IllegalStateException    if the event is not running, has too few available tickets or a
+     *                                  customer's limits refused the order.
+     */
+    public List<List<Long>> purchaseTickets(String eventId, int[] customerIds, int[] quantities) {
+        TicketPool pool = requireRunningPool(eventId, "Cannot purchase tickets.");
+        List<List<Long>> sold = inventoryWriter.recordPurchase(() -> pool.buyTickets(customerIds, quantities));
+        if (sold == null) {
+            throw new IllegalStateException("Not enough tickets available or a customer reached its purchase limit.");
+        }
+        // The pool reports one sale per customer, in order
+        List<List<Long>> ticketIds = new ArrayList<>(customerIds.length);
+        for (int i = 0; i < customerIds.length; i++) {
+            ticketIds.add(sold.size() == customerIds.length ? sold.get(i) : null);
+        }
+        return ticketIds;
+    }
+
+    /**
+     * Sells a customer the best available block of adjacent seats of a running SEATED event.
+     *
+     * @return The seats sold.
+     * @throws IllegalArgumentException if the count is not between 1 and the seats per row.
+     * @throws IllegalStateException if the event is not running, does not use seats, has no such block left or
+     *                               the customer's limits refused the purchase.
+     */
+    public SeatMap.SeatBlock buySeats(String eventId, int customerId, int count) {
+        TicketPool pool = requireRunningPool(eventId, "Cannot buy seats.");
+        if (!(pool instanceof SeatMapTicketPool seated)) {
+            throw new IllegalStateException("Seat selection needs ticket.pool.mode=SEATED.");
         }
-        if (executorService != null) {
-            executorService.shutdownNow(); // Terminate all threads
+        int seatsPerRow = seated.getSeatMap().getLayout().seatsPerRow();
+        if (count <= 0 || count > seatsPerRow) {
+            throw new IllegalArgumentException("Seat count must be between 1 and " + seatsPerRow + ".");
         }
-        logService.addLog("System stopped."); // Log system shutdown
+        SeatMap.SeatBlock block = seated.buySeats(customerId, count);
+        if (block == null) {
+            throw new IllegalStateException("No " + count
+                    + " adjacent seats available or the customer reached its purchase limit.");
+        }
+        return block;
+    }
+
+    /**
+     * Queues a customer in a running event's waiting room for one ticket.
+     *
+     * @param priority   Lower values are admitted first when the admission order is PRIORITY.
+     * @param waitMillis How long to wait; 0 or more than the maximum uses the maximum.
+     * @return A future completed with true once a ticket was bought for the customer, or false if the
+     * waiting room was full, the wait timed out or the event stopped.
+     * @throws IllegalStateException if the event is not running.
+     */
+    public CompletableFuture<Boolean> joinWaitingRoom(String eventId, int customerId, int priority, long waitMillis) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        if (simulation == null) {
+            throw new IllegalStateException("System is not running. Cannot join the waiting room.");
+        }
+        long wait = waitMillis > 0 ? Math.min(waitMillis, maxWaitMillis) : maxWaitMillis;
+        return simulation.joinWaitingRoom(customerId, priority, wait);
+    }
+
+    /**
+     * Pool of a running event, for operations requested through the API.
+     *
+     * @param action Describes the operation in the error message.
+     * @throws IllegalStateException if the event is not running.
+     */
+    TicketPool requireRunningPool(String eventId, String action) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        if (simulation == null) {
+            throw new IllegalStateException("System is not running. " + action);
+        }
+        return simulation.requireRunningPool(action);
+    }
+
+    /**
+     * Load report of an event's current or last run.
+     *
+     * @return null if the event has not run since its pool was loaded.
+     */
+    public LoadGenerator.Report getLoadReport(String eventId) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        return simulation != null ? simulation.getLoadReport() : null;
+    }
+
+    public boolean isEventRunning(String eventId) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        return simulation != null && simulation.isRunning();
+    }
+
+    public boolean isEventRegistered(String eventId) {
+        return registeredEvents.containsKey(eventId);
+    }
+
+    // Whether the event currently has a pool in memory
+    public boolean isEventLoaded(String eventId) {
+        return activeEvents.containsKey(eventId);
+    }
+
+    public int getTotalTickets(String eventId) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        return simulation != null ? simulation.getTotalTickets() : 0;
+    }
+
+    public int getAvailableTickets(String eventId) {
+        EventSimulation simulation = activeEvents.get(eventId);
+        return simulation != null ? simulation.getAvailableTickets() : 0;
+    }
+
+    // Registered event ids in alphabetical order
+    public Set<String> getEventIds() {
+        return new TreeSet<>(registeredEvents.keySet());
+    }
+
+    /**
+     * WebSocket topic with the availability of an event. The default event keeps the original topic.
+     */
+    public static String availabilityTopic(String eventId) {
+        return DEFAULT_EVENT_ID.equals(eventId)
+                ? "/topic/ticketAvailability"
+                : "/topic/events/" + eventId + "/ticketAvailability";
+    }
+
+    /**
+     * Starts the ticketing system with the specified configuration.
+     *
+     * @param totalTickets        Total number of tickets in the system.
+     * @param ticketReleaseRate   Rate at which vendors release tickets (in ms).
+     * @param customerRetrievalRate Rate at which customers retrieve tickets (in ms).
+     * @param maxTicketCapacity   Maximum number of tickets available at any given time.
+     * @param numberOfVendors     Number of simulated vendors (0 uses the default of 500).
+     * @param numberOfCustomers   Number of simulated customers (0 uses the default of 500).
+     */
+    public void startSystem(int totalTickets, int ticketReleaseRate, int customerRetrievalRate, int maxTicketCapacity,
+                            int numberOfVendors, int numberOfCustomers) {
+        registerEvent(DEFAULT_EVENT_ID, new SimulationSettings(totalTickets, ticketReleaseRate, customerRetrievalRate,
+                maxTicketCapacity, numberOfVendors, numberOfCustomers));
+        startEvent(DEFAULT_EVENT_ID);
+    }
+
+    /**
+     * Changes the rates and capacity of the default event while it keeps running.
+     *
+     * @see #reconfigureEvent(String, int, int, int)
+     */
+    public SimulationSettings reconfigureSystem(int ticketReleaseRate, int customerRetrievalRate,
+                                                int maxTicketCapacity) {
+        return reconfigureEvent(DEFAULT_EVENT_ID, ticketReleaseRate, customerRetrievalRate, maxTicketCapacity);
+    }
+
+    /**
+     * Stops the ticketing system and shuts down all threads.
+     */
+    public void stopSystem() {
+        stopEvent(DEFAULT_EVENT_ID);
     }
 
     /**
@@ -110,12 +463,8 @@ public class TicketService {
      * @param vendorId        The ID of the vendor adding tickets.
      */
     public void addTickets(int numberOfTickets, int vendorId) {
-        if (ticketPool != null && ticketPool.isRunning()) {
-            ticketPool.addMultipleTickets(numberOfTickets, vendorId); // Add tickets to the pool
-            logService.addLog("Vendor " + vendorId + " added " + numberOfTickets + " tickets.");
-        } else {
-            throw new IllegalStateException("System is not running. Cannot add tickets.");
-        }
+        addTickets(DEFAULT_EVENT_ID, numberOfTickets, vendorId);
+        logService.addLog("Vendor " + vendorId + " added " + numberOfTickets + " tickets.");
     }
 
     /**
@@ -124,7 +473,7 @@ public class TicketService {
      * @return True if the system is running, false otherwise.
      */
     public boolean isSystemRunning() {
-        return ticketPool != null && ticketPool.isRunning();
+        return isEventRunning(DEFAULT_EVENT_ID);
     }
 
     /**
@@ -133,7 +482,7 @@ public class TicketService {
      * @return The total tickets.
      */
     public int getTotalTickets() {
-        return ticketPool != null ? ticketPool.getTotalTickets() : 0;
+        return getTotalTickets(DEFAULT_EVENT_ID);
     }
 
     /**
@@ -142,6 +491,46 @@ public class TicketService {
      * @return The available tickets.
      */
     public int getAvailableTickets() {
-        return ticketPool != null ? ticketPool.getAvailableTickets() : 0;
+        return getAvailableTickets(DEFAULT_EVENT_ID);
+    }
+
+    private EventSimulation newSimulation(String eventId) {
+        TicketEventPublisher publisher = new TicketEventPublisher(logService,
+                availabilityBroadcaster.channel(availabilityTopic(eventId), eventId), EventSimulation.logPrefix(eventId));
+        TicketPoolListener listener = TicketPoolListener.composite(ticketMetrics.forEvent(eventId),
+                participantStats.forEvent(eventId),
+                inventoryWriter.forEvent(eventId), journal.forEvent(eventId), ticketStream.forEvent(eventId), publisher);
+        return new EventSimulation(eventId, poolMode, poolStripes, seatLayout, executionMode, listener, logService,
+                customersWait, waitingRoomCapacity, admissionOrder, loadProfile, limitPolicy, drainTimeoutMillis,
+                threadKeepAliveMillis);
+    }
+
+    // Drops the broadcast channel, meters and unsold-ticket list of an event that is no longer loaded
+    private void releaseEventResources(String eventId) {
+        availabilityBroadcaster.removeChannel(availabilityTopic(eventId));
+        ticketMetrics.removeEvent(eventId);
+        participantStats.removeEvent(eventId);
+        inventoryWriter.removeEvent(eventId);
+    }
+
+    // Drops pools of events that are stopped and have seen no activity for the idle timeout.
+    // Runs inside computeIfPresent so channel removal cannot interleave with creating a new simulation.
+    private void evictIdleEvents() {
+        long now = System.currentTimeMillis();
+        for (String eventId : activeEvents.keySet()) {
+            activeEvents.computeIfPresent(eventId, (id, simulation) -> {
+                if (!simulation.evictIfIdle(now, idleTimeoutMillis)) {
+                    return simulation;
+                }
+                releaseEventResources(id);
+                return null;
+            });
+        }
+    }
+
+    private static void validateEventId(String eventId) {
+        if (eventId == null || !EVENT_ID_PATTERN.matcher(eventId).matches()) {
+            throw new IllegalArgumentException("Event id must be 1-64 letters, digits, '-' or '_'.");
+        }
     }
 }
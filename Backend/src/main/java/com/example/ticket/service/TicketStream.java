@@ -0,0 +1,252 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-Sent Events feed of event status, availability and the log tail for read-only clients.
+ * <p>
+ * Every update is rendered into an SSE event exactly once and offered to a single multicasting
+ * {@link SubmissionPublisher}. Each subscriber has its own bounded buffer and writes to its connection on a
+ * virtual thread, requesting the next event only after the previous one was written. A subscriber whose
+ * buffer is full misses events instead of slowing down the publishing thread: availability and status are
+ * superseded by the next update, and log events carry their sequence as the SSE id so clients can fetch a
+ * gap from {@code /api/ticket/logs}.
+ */
+@Service // Marks this as a Spring-managed service component
+public class TicketStream {
+    public static final String STATUS = "status"; // SSE event name of status updates
+    public static final String AVAILABILITY = "availability"; // SSE event name of availability updates
+    public static final String LOGS = "logs"; // SSE event name of log batches
+
+    private final ObjectMapper objectMapper; // Serializes log batches
+    private final SubmissionPublisher<Frame> publisher; // Fans every frame out to all subscribers
+    private final int maxSubscribers; // Connections accepted at a time
+    private final long timeoutMillis; // Lifetime of a connection before the client has to reconnect
+
+    private final AtomicInteger subscribers = new AtomicInteger(); // Open connections
+    private final LongAdder dropped = new LongAdder(); // Frames skipped for subscribers whose buffer was full
+
+    /**
+     * Constructor for injecting dependencies.
+     *
+     * @param objectMapper   The JSON mapper used for log batches.
+     * @param bufferSize     Frames buffered per subscriber before it starts missing updates.
+     * @param maxSubscribers Maximum number of open connections.
+     * @param timeoutMs      How long a connection stays open, 0 for no limit.
+     */
+    @Autowired
+    public TicketStream(ObjectMapper objectMapper,
+                        @Value("${ticket.stream.buffer-size:256}") int bufferSize,
+                        @Value("${ticket.stream.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${ticket.stream.timeout-ms:0}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.publisher = new SubmissionPublisher<>(Executors.newVirtualThreadPerTaskExecutor(), Math.max(1, bufferSize));
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMs;
+    }
+
+    /**
+     * Completes every open connection.
+     */
+    @PreDestroy
+    public void shutdown() {
+        publisher.close();
+    }
+
+    /**
+     * Opens a stream of one event's status and availability, optionally with the log tail. The current
+     * state is sent first, so clients need no separate status request.
+     *
+     * @param logs             Whether log batches are included.
+     * @param running          Whether the event is running now.
+     * @param totalTickets     The event's current total.
+     * @param availableTickets The event's current availability.
+     * @throws IllegalStateException if the maximum number of subscribers is reached.
+     */
+    public SseEmitter subscribe(String eventId, boolean logs, boolean running, int totalTickets, int availableTickets) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new IllegalStateException("Too many stream subscribers.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, eventId, logs,
+                List.of(statusFrame(eventId, running), availabilityFrame(eventId, totalTickets, availableTickets)));
+        emitter.onCompletion(subscriber::cancel);
+        emitter.onTimeout(subscriber::cancel);
+        emitter.onError(error -> subscriber.cancel());
+        publisher.subscribe(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Returns the listener that streams an event's status changes.
+     */
+    public TicketPoolListener forEvent(String eventId) {
+        return new TicketPoolListener() {
+            @Override
+            public void onStarted(TicketPool pool) {
+                if (publisher.hasSubscribers()) {
+                    offer(statusFrame(eventId, true));
+                }
+            }
+
+            @Override
+            public void onStopped(TicketPool pool) {
+                if (publisher.hasSubscribers()) {
+                    offer(statusFrame(eventId, false));
+                }
+            }
+        };
+    }
+
+    // Streams an availability update; called by the availability broadcaster after coalescing
+    public void publishAvailability(String eventId, int totalTickets, int availableTickets) {
+        if (publisher.hasSubscribers()) {
+            offer(availabilityFrame(eventId, totalTickets, availableTickets));
+        }
+    }
+
+    // Streams a batch of log entries; called by the log pipeline once per flush
+    public void publishLogs(LogService.LogBatch batch) {
+        if (!publisher.hasSubscribers()) {
+            return;
+        }
+        try {
+            offer(new Frame(null, SseEmitter.event()
+                    .id(Long.toString(batch.lastSequence()))
+                    .name(LOGS)
+                    .data(objectMapper.writeValueAsString(batch))
+                    .build()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize log batch", e);
+        }
+    }
+
+    // Number of open connections
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    // Number of frames skipped because a subscriber could not keep up
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void offer(Frame frame) {
+        publisher.offer(frame, (subscriber, item) -> {
+            dropped.increment();
+            return false; // Never wait for a slow subscriber
+        });
+    }
+
+    private static Frame statusFrame(String eventId, boolean running) {
+        return new Frame(eventId, SseEmitter.event()
+                .name(STATUS)
+                .data("{\"eventId\": \"" + eventId + "\", \"running\": " + running + "}")
+                .build());
+    }
+
+    private static Frame availabilityFrame(String eventId, int totalTickets, int availableTickets) {
+        return new Frame(eventId, SseEmitter.event()
+                .name(AVAILABILITY)
+                .data(AvailabilityBroadcaster.toJson(totalTickets, availableTickets))
+                .build());
+    }
+
+    // One rendered SSE event; eventId is null for frames every subscriber of the log tail receives
+    private record Frame(String eventId, Set<DataWithMediaType> event) {
+    }
+
+    // Writes the frames it is interested in to one connection
+    private final class StreamSubscriber implements Flow.Subscriber<Frame> {
+        private final SseEmitter emitter;
+        private final String eventId; // Event whose status and availability are streamed
+        private final boolean logs; // Whether log frames are streamed
+        private final List<Frame> initialFrames; // Current state, sent before any update
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+
+        private StreamSubscriber(SseEmitter emitter, String eventId, boolean logs, List<Frame> initialFrames) {
+            this.emitter = emitter;
+            this.eventId = eventId;
+            this.logs = logs;
+            this.initialFrames = initialFrames;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled.get()) {
+                subscription.cancel(); // Connection closed before the publisher got to us
+                return;
+            }
+            for (Frame frame : initialFrames) {
+                if (!send(frame)) {
+                    return;
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Frame frame) {
+            boolean wanted = frame.eventId() == null ? logs : frame.eventId().equals(eventId);
+            if (!wanted || send(frame)) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            emitter.completeWithError(throwable);
+            cancel();
+        }
+
+        @Override
+        public void onComplete() {
+            emitter.complete();
+            cancel();
+        }
+
+        // Writes one frame; a failed write means the client went away
+        private boolean send(Frame frame) {
+            try {
+                emitter.send(frame.event());
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                cancel();
+                return false;
+            }
+        }
+
+        private void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                subscribers.decrementAndGet();
+                Flow.Subscription current = subscription;
+                if (current != null) {
+                    current.cancel();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.ParticipantLimiter;
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission queue in front of one run's ticket pool.
+ * <p>
+ * Customers join once and get a future instead of retrying {@code buyTicket}. Whenever tickets may have become
+ * available (a vendor release, a released hold, a new waiter) the queue buys tickets for its head until the pool
+ * runs dry, then completes the admitted futures. Who gets a ticket therefore follows the {@link AdmissionOrder}
+ * rather than lock barging. Only one thread dispatches at a time; signals that arrive meanwhile make it take
+ * another pass, so none is lost. The queue is bounded and joining a full queue fails right away. A head whose
+ * purchase the pool's participant limits refuse is dismissed, so it never blocks the customers behind it.
+ */
+public class WaitingRoom implements TicketPoolListener {
+    private final int capacity; // Maximum number of waiters
+    private final PriorityQueue<Waiter> waiters; // Guarded by lock
+    private final Lock lock = new ReentrantLock(); // Guards waiters and dispatching from the head
+    private final AtomicInteger pendingSignals = new AtomicInteger(); // Non-zero while a thread is dispatching
+    private long nextSequence; // Arrival counter, guarded by lock
+    private volatile TicketPool pool; // Pool of the run, set when it starts
+    private volatile boolean closed; // Set when the run stops; no new waiters are accepted
+    private volatile Thread dispatcher; // Thread currently buying for the head, null when none
+    private boolean headRefused; // Set by the dispatcher when the limits refused the head's purchase
+
+    public WaitingRoom(int capacity, AdmissionOrder order) {
+        this.capacity = Math.max(1, capacity);
+        this.waiters = new PriorityQueue<>(order.comparator());
+    }
+
+    /**
+     * Queues a customer for one ticket.
+     *
+     * @param priority      Lower values are admitted first when the order is PRIORITY.
+     * @param maxWaitMillis How long to wait before giving up, 0 to wait until admitted or the run stops.
+     * @return A future completed with true once a ticket was bought for the customer, or false if the queue
+     * was full, the customer's limits refused the purchase, the wait timed out or the run stopped.
+     */
+    public CompletableFuture<Boolean> join(int customerId, int priority, long maxWaitMillis) {
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (closed || waiters.size() >= capacity) {
+                return CompletableFuture.completedFuture(false);
+            }
+            waiter = new Waiter(customerId, priority, nextSequence++, new CompletableFuture<>());
+            waiters.add(waiter);
+        } finally {
+            lock.unlock();
+        }
+        if (maxWaitMillis > 0) {
+            CompletableFuture.delayedExecutor(maxWaitMillis, TimeUnit.MILLISECONDS).execute(() -> leave(waiter));
+        }
+        dispatch();
+        return waiter.admission();
+    }
+
+    // Number of customers currently waiting
+    public int size() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onStarted(TicketPool pool) {
+        this.pool = pool;
+        dispatch();
+    }
+
+    @Override
+    public void onStopped(TicketPool pool) {
+        List<Waiter> dismissed;
+        lock.lock();
+        try {
+            closed = true;
+            dismissed = new ArrayList<>(waiters);
+            waiters.clear();
+        } finally {
+            lock.unlock();
+        }
+        dismissed.forEach(waiter -> waiter.admission().complete(false));
+    }
+
+    @Override
+    public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+        dispatch();
+    }
+
+    @Override
+    public void onHoldReleased(TicketPool pool, int customerId, int available) {
+        dispatch();
+    }
+
+    @Override
+    public void onPurchaseRejected(TicketPool pool, int customerId, ParticipantLimiter.Rejection rejection) {
+        if (dispatcher == Thread.currentThread()) {
+            headRefused = true; // Called back from our own buyTicket; other callers' rejections are not ours
+        }
+    }
+
+    // Removes a waiter that is still queued when its wait times out
+    private void leave(Waiter waiter) {
+        boolean removed;
+        lock.lock();
+        try {
+            removed = waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+        if (removed) {
+            waiter.admission().complete(false);
+        }
+    }
+
+    // Admits waiters from the head while the pool has tickets. Futures are completed outside the lock.
+    private void dispatch() {
+        if (pendingSignals.getAndIncrement() != 0) {
+            return; // The dispatching thread will make another pass
+        }
+        int missed = 1;
+        do {
+            List<Waiter> admitted = new ArrayList<>();
+            List<Waiter> refused = new ArrayList<>();
+            TicketPool current = pool;
+            lock.lock();
+            dispatcher = Thread.currentThread();
+            try {
+                Waiter head;
+                while (current != null && (head = waiters.peek()) != null) {
+                    headRefused = false;
+                    if (current.buyTicket(head.customerId())) {
+                        admitted.add(waiters.poll());
+                    } else if (headRefused) {
+                        refused.add(waiters.poll()); // Over its limits; try the next customer
+                    } else {
+                        break; // Sold out until the next signal
+                    }
+                }
+            } finally {
+                dispatcher = null;
+                lock.unlock();
+            }
+            admitted.forEach(waiter -> waiter.admission().complete(true));
+            refused.forEach(waiter -> waiter.admission().complete(false));
+            missed = pendingSignals.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    // One queued customer
+    record Waiter(int customerId, int priority, long sequence, CompletableFuture<Boolean> admission) {
+    }
+}
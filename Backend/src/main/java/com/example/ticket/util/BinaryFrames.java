@@ -0,0 +1,72 @@
+package com.example.ticket.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Compact big-endian encodings of the WebSocket frames, for clients that negotiated the binary protocol.
+ * <p>
+ * Every frame starts with a type byte and a version byte. An availability frame then has a fixed layout,
+ * so clients can read it with a {@code DataView} at constant offsets:
+ * <pre>
+ * 0  byte   'A'
+ * 1  byte   version (1)
+ * 2  int64  sequence       per-topic, increases by one with every frame
+ * 10 int32  totalTickets
+ * 14 int32  availableTickets
+ * 18 uint8  event id length n
+ * 19 n bytes event id (ASCII)
+ * </pre>
+ * A log batch frame is {@code 'L', version, int64 firstSequence, int32 count}, then for each entry an
+ * {@code int32} length and that many UTF-8 bytes.
+ */
+public final class BinaryFrames {
+    public static final byte AVAILABILITY = 'A'; // Frame type of availability updates
+    public static final byte LOG_BATCH = 'L'; // Frame type of log batches
+    public static final byte VERSION = 1; // Layout version following the type byte
+    private static final int AVAILABILITY_HEADER_BYTES = 19; // Fixed part of an availability frame
+
+    private BinaryFrames() {
+    }
+
+    /**
+     * Encodes an availability update.
+     *
+     * @param eventId Event id in ASCII, at most 255 characters.
+     */
+    public static byte[] availability(String eventId, long sequence, int totalTickets, int availableTickets) {
+        byte[] id = eventId.getBytes(StandardCharsets.US_ASCII);
+        if (id.length > 0xFF) {
+            throw new IllegalArgumentException("Event id is too long for an availability frame: " + eventId);
+        }
+        return ByteBuffer.allocate(AVAILABILITY_HEADER_BYTES + id.length)
+                .put(AVAILABILITY).put(VERSION)
+                .putLong(sequence)
+                .putInt(totalTickets)
+                .putInt(availableTickets)
+                .put((byte) id.length)
+                .put(id)
+                .array();
+    }
+
+    /**
+     * Encodes a batch of consecutive log entries, the first of which has sequence {@code firstSequence}.
+     */
+    public static byte[] logBatch(long firstSequence, List<String> entries) {
+        byte[][] encoded = new byte[entries.size()][];
+        int size = 14;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = entries.get(i).getBytes(StandardCharsets.UTF_8);
+            size += 4 + encoded[i].length;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(size)
+                .put(LOG_BATCH).put(VERSION)
+                .putLong(firstSequence)
+                .putInt(encoded.length);
+        for (byte[] entry : encoded) {
+            frame.putInt(entry.length).put(entry);
+        }
+        return frame.array();
+    }
+}
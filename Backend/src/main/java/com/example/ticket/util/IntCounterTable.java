@@ -0,0 +1,235 @@
+package com.example.ticket.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent table of {@code long} counters keyed by {@code int} id, several counters per id.
+ * <p>
+ * Counters live in dense {@link AtomicLongArray} pages of {@value #PAGE_SIZE} ids, allocated the first
+ * time an id of the page is counted; after that an update is a single atomic add with no boxing, hashing or
+ * allocation. Ids are usually small consecutive numbers, so a million participants cost one long per
+ * counter and id and nothing per participant beyond that. Updates of different ids never touch the same
+ * cell, which is what spreads contention; only one id updated by many threads at once contends.
+ * <p>
+ * Ids outside {@code [0, MAX_ID]} go to an open-addressing table of {@value #HASHED_IDS} ids, allocated the
+ * first time such an id is counted: a slot is claimed with one CAS on its key and then updated like a page.
+ * Should that table fill up, updates of further ids are only counted in {@link #getUntrackedCount()} and
+ * those ids read as 0, so an id never reports another id's counts.
+ */
+public final class IntCounterTable {
+    public static final int MAX_ID = (1 << 24) - 1; // Largest id with its own counters
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS; // Ids per page
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int HASHED_IDS = 1 << 14; // Slots for ids outside [0, MAX_ID]
+    private static final int MAX_PROBES = 64; // Slots tried before an id is given up as untracked
+    private static final long KEY_PRESENT = 1L << 32; // Marks a claimed key, so that 0 means a free slot
+
+    private final int counters; // Counters per id
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>((MAX_ID >> PAGE_BITS) + 1);
+    private final AtomicReference<Hashed> hashed = new AtomicReference<>(); // Ids outside [0, MAX_ID], null until used
+    private final LongAdder untracked = new LongAdder(); // Updates of ids that found no free slot
+
+    /**
+     * @param counters Counters per id, e.g. 2 for successes and failures.
+     */
+    public IntCounterTable(int counters) {
+        if (counters <= 0) {
+            throw new IllegalArgumentException("A table needs at least one counter per id");
+        }
+        this.counters = counters;
+    }
+
+    /**
+     * Adds {@code delta} to one counter of an id.
+     */
+    public void add(int id, int counter, long delta) {
+        if (id < 0 || id > MAX_ID) {
+            Hashed table = hashed.get();
+            if (table == null) {
+                hashed.compareAndSet(null, new Hashed(counters));
+                table = hashed.get();
+            }
+            int slot = table.claim(id);
+            if (slot < 0) {
+                untracked.increment();
+                return;
+            }
+            table.values.getAndAdd(slot * counters + counter, delta);
+            return;
+        }
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        if (page == null) {
+            page = allocatePage(id >>> PAGE_BITS);
+        }
+        page.getAndAdd((id & PAGE_MASK) * counters + counter, delta);
+    }
+
+    /**
+     * Current value of one counter of an id; 0 if the id was never counted.
+     */
+    public long get(int id, int counter) {
+        if (id < 0 || id > MAX_ID) {
+            Hashed table = hashed.get();
+            int slot = table != null ? table.find(id) : -1;
+            return slot >= 0 ? table.values.get(slot * counters + counter) : 0;
+        }
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        return page != null ? page.get((id & PAGE_MASK) * counters + counter) : 0;
+    }
+
+    // Updates dropped because the table for ids outside [0, MAX_ID] was full
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    /**
+     * Ids with at least one non-zero counter.
+     */
+    public int countIds() {
+        int ids = 0;
+        Hashed table = hashed.get();
+        if (table != null) {
+            for (int slot = 0; slot < HASHED_IDS; slot++) {
+                if (table.keys.get(slot) != 0 && isCounted(table.values, slot)) {
+                    ids++;
+                }
+            }
+        }
+        for (int p = 0; p < pages.length(); p++) {
+            AtomicLongArray page = pages.get(p);
+            if (page != null) {
+                for (int slot = 0; slot < PAGE_SIZE; slot++) {
+                    if (isCounted(page, slot)) {
+                        ids++;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Up to {@code limit} ids with the highest value of one counter, highest first. Ids with a value of 0 are
+     * left out. Values are read one at a time, so under concurrent updates the ranking is approximate.
+     */
+    public int[] top(int counter, int limit) {
+        if (limit <= 0) {
+            return new int[0];
+        }
+        // Min-heap of [value, id] holding the best `limit` ids seen so far
+        PriorityQueue<long[]> best = new PriorityQueue<>(limit, Comparator.comparingLong(entry -> entry[0]));
+        for (int p = 0; p < pages.length(); p++) {
+            AtomicLongArray page = pages.get(p);
+            if (page == null) {
+                continue;
+            }
+            for (int slot = 0; slot < PAGE_SIZE; slot++) {
+                offer(best, limit, page.get(slot * counters + counter), ((long) p << PAGE_BITS) | slot);
+            }
+        }
+        Hashed table = hashed.get();
+        if (table != null) {
+            for (int slot = 0; slot < HASHED_IDS; slot++) {
+                long key = table.keys.get(slot);
+                if (key != 0) {
+                    offer(best, limit, table.values.get(slot * counters + counter), (int) key);
+                }
+            }
+        }
+        List<long[]> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingLong((long[] entry) -> entry[0]).reversed()
+                .thenComparingLong(entry -> entry[1]));
+        int[] ids = new int[ranked.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (int) ranked.get(i)[1];
+        }
+        return ids;
+    }
+
+    // Keeps the id among the best `limit` seen so far if its value beats the worst of them
+    private static void offer(PriorityQueue<long[]> best, int limit, long value, long id) {
+        if (value > 0 && (best.size() < limit || value > best.peek()[0])) {
+            if (best.size() == limit) {
+                best.poll();
+            }
+            best.add(new long[]{value, id});
+        }
+    }
+
+    // Installs the page holding the given page index unless another thread did first
+    private AtomicLongArray allocatePage(int index) {
+        AtomicLongArray page = new AtomicLongArray(PAGE_SIZE * counters);
+        return pages.compareAndSet(index, null, page) ? page : pages.get(index);
+    }
+
+    private boolean isCounted(AtomicLongArray page, int slot) {
+        for (int c = 0; c < counters; c++) {
+            if (page.get(slot * counters + c) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Linear-probing table of ids outside [0, MAX_ID]; slots are claimed once and never freed
+    private static final class Hashed {
+        private final AtomicLongArray keys = new AtomicLongArray(HASHED_IDS); // KEY_PRESENT | id, 0 when free
+        private final AtomicLongArray values; // Counters of the id in slot i at i * counters
+
+        private Hashed(int counters) {
+            this.values = new AtomicLongArray(HASHED_IDS * counters);
+        }
+
+        // Slot of the id, claiming a free one on first use; -1 if every probed slot belongs to other ids
+        private int claim(int id) {
+            long key = KEY_PRESENT | (id & 0xFFFFFFFFL);
+            int slot = home(id);
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                long current = keys.get(slot);
+                if (current == key) {
+                    return slot;
+                }
+                if (current == 0) {
+                    if (keys.compareAndSet(slot, 0, key)) {
+                        return slot;
+                    }
+                    if (keys.get(slot) == key) {
+                        return slot; // Another thread claimed it for the same id
+                    }
+                }
+                slot = (slot + 1) & (HASHED_IDS - 1);
+            }
+            return -1;
+        }
+
+        // Slot of the id, or -1 if it was never counted
+        private int find(int id) {
+            long key = KEY_PRESENT | (id & 0xFFFFFFFFL);
+            int slot = home(id);
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                long current = keys.get(slot);
+                if (current == key) {
+                    return slot;
+                }
+                if (current == 0) {
+                    return -1; // Claims never skip a free slot
+                }
+                slot = (slot + 1) & (HASHED_IDS - 1);
+            }
+            return -1;
+        }
+
+        private static int home(int id) {
+            int hash = id * 0x9E3779B9; // Fibonacci hashing spreads neighbouring ids
+            return (hash ^ (hash >>> 16)) & (HASHED_IDS - 1);
+        }
+    }
+}
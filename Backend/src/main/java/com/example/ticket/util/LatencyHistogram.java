@@ -0,0 +1,91 @@
+package com.example.ticket.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Concurrent log-linear histogram of non-negative values, e.g. latencies in nanoseconds.
+ * <p>
+ * Values are grouped by their highest set bit and the {@value #SUB_BITS} bits below it, so every bucket is at
+ * most 1/8 of its lower bound wide and the whole {@code long} range fits in a fixed array. Recording is one
+ * atomic increment; percentiles report the upper bound of the bucket they fall in.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 3; // Sub-buckets per power of two: 2^SUB_BITS
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one value; negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(v));
+        max.accumulate(v);
+    }
+
+    // Number of recorded values
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    // Largest recorded value
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Value at or below which the given fraction of recorded values lie, rounded up to the bucket bound.
+     *
+     * @param quantile Between 0 and 1, e.g. 0.99.
+     * @return 0 if nothing was recorded.
+     */
+    public long percentile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value; // Exact below the first magnitude
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1; // >= 1
+        int sub = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + sub;
+    }
+
+    // Largest value that falls into the bucket
+    private static long upperBound(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        if (magnitude == 0) {
+            return sub;
+        }
+        long lower = ((long) (SUB_BUCKETS | sub)) << (magnitude - 1);
+        long width = 1L << (magnitude - 1);
+        return lower + width - 1 < 0 ? Long.MAX_VALUE : lower + width - 1;
+    }
+}
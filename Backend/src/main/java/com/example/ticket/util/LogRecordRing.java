@@ -0,0 +1,119 @@
+package com.example.ticket.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free ring of fixed-shape log records for many producers and a single consumer.
+ * <p>
+ * A record is a type, three ints, a timestamp and one text reference, stored in preallocated parallel
+ * arrays, so offering one allocates nothing: producers pass the values of a structured event and the
+ * consumer turns them into text later. Slots are claimed and published with per-slot sequence numbers
+ * exactly like {@link MpscBoundedQueue}; a full ring is reported to the producer instead of blocking it.
+ * {@link #drain} must only be called from one thread.
+ */
+public final class LogRecordRing {
+    private static final int INTS = 4; // type, actor, count, available
+
+    private final int[] ints; // INTS values per slot
+    private final long[] timestamps; // Epoch milliseconds per slot
+    private final Object[] texts; // Message or prefix per slot; the only reference a record holds
+    private final AtomicLongArray sequences; // Per-slot sequence: tail position when free, tail + 1 when filled
+    private final int mask; // capacity - 1, capacity is a power of two
+    private final AtomicLong tail = new AtomicLong(); // Next position claimed by producers
+    private final AtomicLong head = new AtomicLong(); // Next position read by the consumer
+
+    /**
+     * Receives drained records. Called on the consumer thread only.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(int type, String text, int actor, int count, int available, long timestampMillis);
+    }
+
+    /**
+     * @param requestedCapacity Minimum capacity; rounded up to the next power of two.
+     */
+    public LogRecordRing(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("Ring capacity must be positive");
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) * 2 - 1);
+        this.ints = new int[capacity * INTS];
+        this.timestamps = new long[capacity];
+        this.texts = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds a record if there is room. Safe to call from any thread.
+     *
+     * @return false if the ring is full.
+     */
+    public boolean offer(int type, String text, int actor, int count, int available, long timestampMillis) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    int base = index * INTS;
+                    ints[base] = type;
+                    ints[base + 1] = actor;
+                    ints[base + 2] = count;
+                    ints[base + 3] = available;
+                    timestamps[index] = timestampMillis;
+                    texts[index] = text;
+                    sequences.set(index, position + 1); // Publish to the consumer
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // Slot still holds a record from the previous lap
+            }
+            // Another producer claimed this position first; retry with the new tail
+        }
+    }
+
+    /**
+     * Removes up to {@code limit} records in FIFO order and passes them to {@code sink}. Consumer thread only.
+     *
+     * @return the number of records drained.
+     */
+    public int drain(Sink sink, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break; // Empty, or the producer has not published yet
+            }
+            int base = index * INTS;
+            String text = (String) texts[index];
+            texts[index] = null;
+            int type = ints[base];
+            int actor = ints[base + 1];
+            int count = ints[base + 2];
+            int available = ints[base + 3];
+            long timestampMillis = timestamps[index];
+            sequences.set(index, position + texts.length); // Hand the slot back for the next lap
+            head.lazySet(position + 1);
+            sink.accept(type, text, actor, count, available, timestampMillis);
+            drained++;
+        }
+        return drained;
+    }
+
+    // Approximate number of queued records; exact only when producers and consumer are quiescent
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, texts.length));
+    }
+
+    public int capacity() {
+        return texts.length;
+    }
+}
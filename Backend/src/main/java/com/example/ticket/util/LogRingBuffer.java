@@ -0,0 +1,116 @@
+package com.example.ticket.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Preallocated ring buffer of text entries with monotonically increasing sequence numbers.
+ * <p>
+ * There is a single writer; any number of readers take wait-free snapshots: a read never takes a lock
+ * and never waits for the writer, it simply skips slots that were overwritten while it was reading.
+ * Retention is bounded by entry count and, optionally, by the total size of the retained text.
+ */
+public final class LogRingBuffer {
+    private final AtomicReferenceArray<Entry> slots; // Entry for sequence s lives at s & mask
+    private final int mask;
+    private final int maxEntries; // Retention by count
+    private final long maxBytes; // Retention by size, 0 for no size limit
+
+    private volatile long lastSequence; // Sequence of the newest published entry, 0 when empty
+    private volatile long oldestSequence = 1; // Sequence of the oldest retained entry
+    private long retainedBytes; // Writer-only running size of the retained entries
+
+    /**
+     * @param maxEntries Maximum number of entries retained.
+     * @param maxBytes   Maximum total UTF-8 size of retained entries in bytes, or 0 for no size limit.
+     */
+    public LogRingBuffer(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Log retention must keep at least one entry");
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Appends an entry, evicting the oldest ones as needed. Writer thread only.
+     *
+     * @return the sequence number assigned to the entry.
+     */
+    public long append(String text) {
+        long sequence = lastSequence + 1;
+        long oldest = oldestSequence;
+        int size = utf8Length(text);
+
+        retainedBytes += size;
+        while (oldest < sequence && (sequence - oldest >= maxEntries
+                || (maxBytes > 0 && retainedBytes > maxBytes))) {
+            retainedBytes -= utf8Length(slots.get((int) (oldest & mask)).text());
+            oldest++;
+        }
+        oldestSequence = oldest; // Advance retention before the slot can be overwritten
+        slots.set((int) (sequence & mask), new Entry(sequence, text));
+        lastSequence = sequence; // Publish to readers
+        return sequence;
+    }
+
+    /**
+     * Reads up to {@code limit} retained entries with a sequence greater than {@code since}, oldest first.
+     * Safe to call from any thread while the writer is appending. A cursor ahead of the newest entry
+     * is treated as 0.
+     */
+    public Page read(long since, int limit) {
+        long last = lastSequence;
+        long oldest = oldestSequence;
+        if (since > last) {
+            since = 0; // Cursor from a previous buffer (e.g. before a restart); start over
+        }
+        long first = Math.max(since + 1, oldest);
+        List<Entry> entries = new ArrayList<>((int) Math.max(0, Math.min(limit, last - first + 1)));
+        long next = since;
+        for (long sequence = first; sequence <= last && entries.size() < limit; sequence++) {
+            Entry entry = slots.get((int) (sequence & mask));
+            if (entry != null && entry.sequence() == sequence) {
+                entries.add(entry);
+            } // Otherwise the writer already lapped this slot; the entry is gone
+            next = sequence;
+        }
+        return new Page(entries, next, oldest, last);
+    }
+
+    // Encoded size of the text in bytes, counted without encoding it
+    static int utf8Length(String text) {
+        int bytes = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800) {
+                bytes += Character.isSurrogate(c) ? 1 : 2; // A surrogate pair is 4 bytes for 2 chars
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+
+    // Sequence of the newest entry, 0 when nothing was appended yet
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * A stored entry.
+     */
+    public record Entry(long sequence, String text) {
+    }
+
+    /**
+     * Result of a read. {@code nextSince} is the value to pass as {@code since} on the following call;
+     * a gap between the requested {@code since} and {@code oldestSequence} means entries were evicted.
+     */
+    public record Page(List<Entry> entries, long nextSince, long oldestSequence, long lastSequence) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.ticket.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Fixed-size, append-only file of records written through a memory mapping.
+ * <p>
+ * Each record is stored as {@code [int length][int crc32c][body]}. The file is zero-filled when created, so a
+ * zero length marks the end; a record whose checksum does not match is a torn write and also ends the segment.
+ * Appends only copy into the mapping; {@link #force()} makes everything appended so far durable. Not
+ * thread-safe: one writer appends and forces.
+ */
+public final class MappedSegment implements Closeable {
+    private static final int HEADER_BYTES = 8; // Length and checksum
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer; // Whole file; position is the append offset
+    private final CRC32C crc = new CRC32C();
+    private boolean dirty; // Appended since the last force
+
+    private MappedSegment(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates (or truncates) a segment file of the given size and maps it for appending.
+     */
+    public static MappedSegment create(Path path, int sizeBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new MappedSegment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Passes the body of every intact record, in order, to the consumer. The buffer is only valid during the call.
+     *
+     * @return The number of records read.
+     */
+    public static int read(Path path, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            int count = 0;
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break; // End of the written part
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break; // Torn write at the tail
+                }
+                consumer.accept(body);
+                buffer.position(buffer.position() + length);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Appends the remaining bytes of {@code body} as one record.
+     *
+     * @return false if the segment has no room for it.
+     */
+    public boolean append(ByteBuffer body) {
+        int length = body.remaining();
+        if (length == 0) {
+            throw new IllegalArgumentException("Records must not be empty");
+        }
+        if (buffer.remaining() < HEADER_BYTES + length) {
+            return false;
+        }
+        crc.reset();
+        crc.update(body.duplicate());
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.put(body);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, length); // Written last, so a reader never sees a length without its body
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Flushes appended records to the storage device. Does nothing if nothing was appended since the last call.
+     */
+    public void force() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    // Bytes appended so far, including headers
+    public int position() {
+        return buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ticket.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free queue for many producers and a single consumer.
+ * <p>
+ * Each slot carries a sequence number: a producer claims a slot by CAS on the tail and publishes it by
+ * advancing the slot sequence, the consumer frees it by moving the sequence one lap ahead. A full queue
+ * is reported to the producer instead of blocking it. {@link #poll()} and {@link #drain} must only be
+ * called from one thread.
+ *
+ * @param <E> The element type.
+ */
+public final class MpscBoundedQueue<E> {
+    private final Object[] buffer; // Slots, published through the matching sequence entry
+    private final AtomicLongArray sequences; // Per-slot sequence: tail position when free, tail + 1 when filled
+    private final int mask; // capacity - 1, capacity is a power of two
+    private final AtomicLong tail = new AtomicLong(); // Next position claimed by producers
+    private final AtomicLong head = new AtomicLong(); // Next position read by the consumer
+
+    /**
+     * @param requestedCapacity Minimum capacity; rounded up to the next power of two.
+     */
+    public MpscBoundedQueue(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) * 2 - 1);
+        this.buffer = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room. Safe to call from any thread.
+     *
+     * @return false if the queue is full.
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = element;
+                    sequences.set(index, position + 1); // Publish to the consumer
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // Slot still holds an element from the previous lap
+            }
+            // Another producer claimed this position first; retry with the new tail
+        }
+    }
+
+    /**
+     * Removes the oldest element. Consumer thread only.
+     *
+     * @return the element, or null if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null; // Empty, or the producer has not published yet
+        }
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        sequences.set(index, position + buffer.length); // Hand the slot back for the next lap
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    /**
+     * Removes up to {@code limit} elements in FIFO order and passes them to {@code sink}. Consumer thread only.
+     *
+     * @return the number of elements drained.
+     */
+    public int drain(Consumer<? super E> sink, int limit) {
+        int drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            sink.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    // Approximate number of queued elements; exact only when producers and consumer are quiescent
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.ticket.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timer wheel for large numbers of timeouts.
+ * <p>
+ * Time is divided into ticks. Level 0 has one slot per tick for the next {@value #SLOTS} ticks, and each
+ * higher level has slots that are {@value #SLOTS} times wider. A timeout goes into the lowest level whose
+ * range covers its deadline. When a level-0 lap finishes, the current slot of the next level is cascaded
+ * down. Scheduling and cancelling are O(1), and each timeout is moved at most once per level before it
+ * expires. Deadlines beyond the top level are parked in the farthest slot and re-placed when they cascade.
+ * <p>
+ * Not thread-safe; callers synchronize access.
+ *
+ * @param <T> The value carried by each timeout.
+ */
+public final class TimerWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS; // Slots per level
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4; // 64^4 ticks: about 2 days with 10 ms ticks
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS); // Ticks covered by all levels
+
+    private final long tickMillis; // Duration of one tick
+    private final long originMillis; // Time of tick 0
+    private final Timeout<T>[][] slots; // Sentinel of the circular list in each slot, by level
+    private long currentTick; // Last tick that has been processed
+    private int size; // Scheduled timeouts
+
+    /**
+     * @param tickMillis Resolution of the wheel; deadlines are rounded up to a whole tick.
+     * @param nowMillis  Current time, used as the origin.
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.originMillis = nowMillis;
+        this.slots = new Timeout[LEVELS][SLOTS];
+        for (Timeout<T>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                Timeout<T> sentinel = new Timeout<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * Schedules a value to expire at a deadline. Deadlines that have already passed expire on the next tick.
+     *
+     * @return The handle for {@link #cancel}.
+     */
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        long deadline = deadlineMillis - originMillis;
+        long deadlineTick = deadline <= 0 ? 0 : (deadline + tickMillis - 1) / tickMillis; // Round up
+        Timeout<T> timeout = new Timeout<>(value, Math.max(deadlineTick, currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Removes a timeout that has not expired yet.
+     *
+     * @return false if it already expired or was cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Processes every tick up to the current time, passing the value of each expired timeout to the callback.
+     * The callback must not use this wheel.
+     *
+     * @return The number of expired timeouts.
+     */
+    public int advance(long nowMillis, Consumer<? super T> expired) {
+        long nowTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, nowTick); // Nothing to cascade or expire
+            return 0;
+        }
+        int count = 0;
+        while (currentTick < nowTick) {
+            long tick = ++currentTick;
+            // Cascade from the highest level that completed a lap, so entries can fall through several levels
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK));
+                }
+            }
+            Timeout<T> sentinel = slots[0][(int) (tick & SLOT_MASK)];
+            while (sentinel.next != sentinel) {
+                Timeout<T> timeout = sentinel.next;
+                unlink(timeout);
+                size--;
+                count++;
+                expired.accept(timeout.value);
+            }
+            if (size == 0) {
+                currentTick = nowTick;
+            }
+        }
+        return count;
+    }
+
+    // Number of scheduled timeouts
+    public int size() {
+        return size;
+    }
+
+    // Moves the entries of a higher-level slot to the levels matching their remaining time
+    private void cascade(int level, int slot) {
+        Timeout<T> sentinel = slots[level][slot];
+        Timeout<T> timeout = sentinel.next;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        while (timeout != sentinel) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long tick = timeout.deadlineTick;
+        long remaining = tick - currentTick;
+        if (remaining >= MAX_SPAN) {
+            tick = currentTick + MAX_SPAN - 1; // Park in the farthest slot; re-placed when it cascades
+            remaining = MAX_SPAN - 1;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && remaining >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        Timeout<T> sentinel = slots[level][(int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK)];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null; // Marks the timeout as no longer scheduled
+        timeout.next = null;
+    }
+
+    /**
+     * Handle of a scheduled value.
+     */
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadlineTick; // Tick at which the value expires
+        private Timeout<T> prev; // Neighbours in the slot list, null once expired or cancelled
+        private Timeout<T> next;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.ticket.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free table of per-id usage for quotas and rate limits. Each tracked id has a running
+ * count checked against a cap and a token bucket refilled at a fixed rate.
+ * <p>
+ * The table is set-associative: an id hashes to a set of {@value #WAYS} slots, and its whole state (count,
+ * tokens and the time of the last refill) is packed into one {@code long}, so a charge is a single
+ * compare-and-set with no lock and no allocation. An id that has not been charged for the entry TTL is
+ * expired, and its slot can be taken over by another id, so memory stays fixed however many ids come
+ * and go. When all slots of a set are in use by live ids, a new id is admitted untracked and counted.
+ * Taking over a slot races with a late charge of its previous id; at most that one charge is lost.
+ */
+public final class UsageTable {
+    public static final int CAPPED = 0; // Result of a charge rejected by the cap
+    public static final int RATE_LIMITED = -1; // Result of a charge rejected by the token bucket
+    public static final int MAX_CAP = (1 << 24) - 1; // Largest cap the packed count can hold
+    public static final int MAX_BURST = 4095; // Largest bucket the packed tokens can hold
+
+    private static final int WAYS = 4; // Slots per set
+    private static final int TOKEN_SCALE = 16; // Tokens are stored in sixteenths
+    private static final long TIME_MASK = (1L << 24) - 1; // Milliseconds since creation, modulo ~4.6 hours
+    private static final long TOKEN_MASK = (1L << 16) - 1;
+    private static final long OCCUPIED = 1L << 32; // Set in every key so that id 0 differs from an empty slot
+
+    private final AtomicLongArray keys; // OCCUPIED | id per slot, 0 when empty
+    private final AtomicLongArray states; // count (24 bits) | tokens (16 bits) | last refill time (24 bits)
+    private final int setMask;
+    private final long cap; // Largest count, 0 for no cap
+    private final double tokensPerMilli; // Refill rate in sixteenths, 0 for no rate limit
+    private final long burst; // Bucket size in sixteenths
+    private final long ttlMillis; // Idle time after which an id is forgotten
+    private final long baseMillis = System.currentTimeMillis(); // Origin of the packed times
+    private final LongAdder untracked = new LongAdder(); // Charges admitted because the id's set was full
+
+    /**
+     * @param capacity          Slots in the table, rounded up to a power of two.
+     * @param cap               Largest count per id, 0 for no cap.
+     * @param requestsPerSecond Token refill rate per id, 0 for no rate limit.
+     * @param burst             Tokens an idle id can save up.
+     * @param ttlMillis         Idle time after which an id's usage is forgotten, at most about two hours.
+     */
+    public UsageTable(int capacity, int cap, double requestsPerSecond, int burst, long ttlMillis) {
+        int slots = Integer.highestOneBit(Math.max(WAYS, capacity) * 2 - 1);
+        this.keys = new AtomicLongArray(slots);
+        this.states = new AtomicLongArray(slots);
+        this.setMask = slots / WAYS - 1;
+        this.cap = Math.max(0, Math.min(cap, MAX_CAP));
+        this.tokensPerMilli = Math.max(0, requestsPerSecond) * TOKEN_SCALE / 1000;
+        this.burst = (long) Math.max(1, Math.min(burst, MAX_BURST)) * TOKEN_SCALE;
+        this.ttlMillis = Math.max(1, Math.min(ttlMillis, TIME_MASK / 2));
+    }
+
+    /**
+     * Charges one request of {@code quantity} units to an id, all or nothing.
+     *
+     * @return quantity if admitted, {@link #CAPPED} or {@link #RATE_LIMITED} if not.
+     */
+    public int charge(int id, int quantity, long nowMillis) {
+        return charge(id, quantity, false, nowMillis);
+    }
+
+    /**
+     * Charges one request of up to {@code quantity} units to an id, trimmed to what its cap still allows.
+     *
+     * @return Units granted, {@link #CAPPED} if none or {@link #RATE_LIMITED}.
+     */
+    public int chargeUpTo(int id, int quantity, long nowMillis) {
+        return charge(id, quantity, true, nowMillis);
+    }
+
+    /**
+     * Gives back units of an earlier charge that were not used, e.g. because the pool had no ticket.
+     */
+    public void refund(int id, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        int slot = find(id);
+        if (slot < 0) {
+            return; // Untracked or forgotten meanwhile
+        }
+        long state;
+        long next;
+        do {
+            state = states.get(slot);
+            long count = state >>> 40;
+            next = (Math.max(0, count - quantity) << 40) | (state & ((1L << 40) - 1));
+        } while (!states.compareAndSet(slot, state, next));
+    }
+
+    // Charges admitted without limits because the table had no room for their id
+    public long getUntrackedCount() {
+        return untracked.sum();
+    }
+
+    private int charge(int id, int quantity, boolean partial, long nowMillis) {
+        long now = (nowMillis - baseMillis) & TIME_MASK;
+        int slot = claim(id, now);
+        if (slot < 0) {
+            untracked.increment();
+            return quantity;
+        }
+        long state;
+        long next;
+        int granted;
+        do {
+            state = states.get(slot);
+            long time = state & TIME_MASK;
+            long count = state >>> 40;
+            long tokens = (state >>> 24) & TOKEN_MASK;
+            if (isExpired(state, now)) {
+                count = 0; // Idle long enough to be forgotten
+                tokens = burst;
+                time = now;
+            }
+            long elapsed = (now - time) & TIME_MASK;
+
+            if (tokensPerMilli > 0) {
+                long gained = (long) (elapsed * tokensPerMilli);
+                if (tokens + gained >= burst) {
+                    tokens = burst;
+                    time = now;
+                } else if (gained > 0) {
+                    tokens += gained;
+                    // Advance only by the whole milliseconds the gained tokens used up; the rest refills later
+                    time = (time + (long) Math.ceil(gained / tokensPerMilli)) & TIME_MASK;
+                }
+                if (tokens < TOKEN_SCALE) {
+                    return RATE_LIMITED;
+                }
+                tokens -= TOKEN_SCALE;
+            } else {
+                time = now;
+            }
+
+            granted = quantity;
+            if (cap > 0 && count + quantity > cap) {
+                if (!partial || count >= cap) {
+                    return CAPPED;
+                }
+                granted = (int) (cap - count);
+            }
+            next = (Math.min(count + granted, MAX_CAP) << 40) | (tokens << 24) | time;
+        } while (!states.compareAndSet(slot, state, next));
+        return granted;
+    }
+
+    // Slot holding the id, or -1
+    private int find(int id) {
+        long key = OCCUPIED | (id & 0xFFFFFFFFL);
+        int set = setOf(id);
+        for (int way = 0; way < WAYS; way++) {
+            if (keys.get(set + way) == key) {
+                return set + way;
+            }
+        }
+        return -1;
+    }
+
+    // Slot holding the id, taking over an empty or expired slot of its set if needed; -1 if the set is full
+    private int claim(int id, long now) {
+        long key = OCCUPIED | (id & 0xFFFFFFFFL);
+        int set = setOf(id);
+        while (true) {
+            int candidate = -1;
+            long candidateKey = 0;
+            for (int way = 0; way < WAYS; way++) {
+                long current = keys.get(set + way);
+                if (current == key) {
+                    return set + way;
+                }
+                if (candidate < 0 && (current == 0 || isExpired(states.get(set + way), now))) {
+                    candidate = set + way;
+                    candidateKey = current;
+                }
+            }
+            if (candidate < 0) {
+                return -1;
+            }
+            if (keys.compareAndSet(candidate, candidateKey, key)) {
+                states.set(candidate, (burst << 24) | now); // Fresh entry: nothing counted, full bucket
+                return candidate;
+            }
+            // Another thread took the slot first, possibly for the same id; look again
+        }
+    }
+
+    private boolean isExpired(long state, long now) {
+        return ((now - (state & TIME_MASK)) & TIME_MASK) > ttlMillis;
+    }
+
+    private int setOf(int id) {
+        int hash = id * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & setMask) * WAYS;
+    }
+}
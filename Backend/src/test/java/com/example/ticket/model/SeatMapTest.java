@@ -0,0 +1,111 @@
+package com.example.ticket.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatMapTest {
+
+    @Test
+    void bestAvailableIsCentredInTheFrontRow() {
+        SeatMap seats = new SeatMap(0, new SeatMap.Layout(2, 2, 10), 40);
+        assertEquals(new SeatMap.SeatBlock(1, 1, 4, 4), seats.blockOf(seats.takeAdjacent(4), 4));
+        assertEquals(new SeatMap.SeatBlock(1, 1, 1, 3), seats.blockOf(seats.takeAdjacent(3), 3),
+                "Both remaining runs are as far from the centre; the first wins");
+        assertEquals(new SeatMap.SeatBlock(1, 2, 3, 6), seats.blockOf(seats.takeAdjacent(6), 6),
+                "Front row has no 6 adjacent seats left");
+        assertEquals(27, seats.getFreeSeats());
+    }
+
+    @Test
+    void onlyReleasedSeatsAreSoldAndTheVenueSellsOut() {
+        SeatMap seats = new SeatMap(0, new SeatMap.Layout(1, 2, 5), 3);
+        assertEquals(-1, seats.takeAdjacent(4), "Only three seats are on sale");
+        assertEquals(2, seats.release(2, 6, () -> 1), "Capacity counts held seats");
+        assertEquals(5, seats.release(100, 100, () -> 0));
+        assertEquals(0, seats.release(1, 100, () -> 0), "Every seat was put on sale");
+        assertEquals(10, seats.getFreeSeats());
+        assertEquals(new SeatMap.SeatBlock(1, 1, 1, 5), seats.blockOf(seats.takeAdjacent(5), 5));
+        assertEquals(new SeatMap.SeatBlock(1, 2, 1, 5), seats.blockOf(seats.takeAdjacent(5), 5));
+    }
+
+    @Test
+    void ordersLargerThanARowAreSplitAllOrNothing() {
+        SeatMap seats = new SeatMap(0, new SeatMap.Layout(1, 3, 10), 30);
+        assertTrue(seats.takeAdjacent(2) >= 0);
+        assertTrue(seats.takeSeats(25), "An order larger than a row takes the largest free blocks");
+        assertEquals(3, seats.getFreeSeats());
+        assertFalse(seats.takeSeats(4));
+        assertEquals(3, seats.getFreeSeats());
+
+        SeatMap gaps = new SeatMap(0, new SeatMap.Layout(1, 1, 5), 5);
+        assertEquals(2, gaps.takeAdjacent(1)); // The centre seat: runs of two are left on either side
+        assertEquals(-1, gaps.takeAdjacent(3));
+        assertTrue(gaps.takeSeats(3), "Falls back to separate blocks when no row has the seats adjacent");
+        assertEquals(1, gaps.getFreeSeats());
+        assertFalse(gaps.takeSeats(2), "A split order that comes up short takes nothing");
+        assertEquals(1, gaps.getFreeSeats());
+        assertTrue(gaps.takeSeats(1));
+        assertEquals(0, gaps.getFreeSeats());
+    }
+
+    @Test
+    void heldSeatsAreSoldOrFreed() {
+        SeatMap seats = new SeatMap(0, new SeatMap.Layout(1, 1, 4), 4);
+        assertTrue(seats.hold(0) >= 0);
+        assertTrue(seats.hold(0) >= 0);
+        assertEquals(2, seats.getFreeSeats());
+        assertTrue(seats.releaseHeld());
+        assertTrue(seats.sellHeld());
+        assertFalse(seats.sellHeld());
+        assertEquals(3, seats.getFreeSeats());
+    }
+
+    @Test
+    void concurrentAllocationsNeverShareASeat() throws Exception {
+        SeatMap seats = new SeatMap(10_000, new SeatMap.Layout(4, 1, 50), 10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int count = 1 + t % 4;
+            results.add(executor.submit(() -> {
+                List<Integer> firsts = new ArrayList<>();
+                for (int seat; (seat = count == 1 ? seats.takeOne(count) : seats.takeAdjacent(count)) >= 0; ) {
+                    firsts.add(seat);
+                    firsts.add(count);
+                }
+                return firsts;
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        BitSet sold = new BitSet();
+        int soldCount = 0;
+        for (Future<List<Integer>> result : results) {
+            List<Integer> firsts = result.get();
+            for (int i = 0; i < firsts.size(); i += 2) {
+                int first = firsts.get(i);
+                int count = firsts.get(i + 1);
+                assertEquals(first / 50, (first + count - 1) / 50, "A block must stay within one row");
+                for (int seat = first; seat < first + count; seat++) {
+                    assertFalse(sold.get(seat), "Seat " + seat + " was sold twice");
+                    sold.set(seat);
+                }
+                soldCount += count;
+            }
+        }
+        assertEquals(10_000, soldCount + seats.getFreeSeats());
+        assertEquals(0, seats.getFreeSeats(), "Single-seat buyers take whatever is left");
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.ticket.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TicketPoolTest {
+
+    private TicketPool newPool(TicketPoolMode mode, int totalTickets, int maxCapacity) {
+        return mode.create(totalTickets, maxCapacity, 1000, 1000, mock(TicketPoolListener.class));
+    }
+
+    @Test
+    void respectsCapacityBoundsInEveryMode() {
+        for (TicketPoolMode mode : TicketPoolMode.values()) {
+            TicketPool pool = newPool(mode, 10, 5);
+            assertEquals(5, pool.getAvailableTickets());
+            assertFalse(pool.addTicket(1), mode + " must reject adds at max capacity");
+
+            for (int i = 0; i < 5; i++) {
+                assertTrue(pool.buyTicket(1));
+            }
+            assertFalse(pool.buyTicket(1), mode + " must reject buys when empty");
+            assertEquals(HoldOutcome.SOLD_OUT, pool.tryHoldTicket(1));
+
+            assertTrue(pool.addMultipleTickets(8, 1));
+            assertEquals(5, pool.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void bulkPurchaseSellsEverythingOrNothing() {
+        for (TicketPoolMode mode : TicketPoolMode.values()) {
+            TicketPool pool = newPool(mode, 10, 10);
+            assertFalse(pool.buyTickets(new int[]{1, 2}, new int[]{6, 5}), mode + " must not sell part of an order");
+            assertEquals(10, pool.getAvailableTickets());
+
+            assertTrue(pool.buyTickets(new int[]{1, 2}, new int[]{6, 4}));
+            assertEquals(0, pool.getAvailableTickets());
+            assertTrue(pool.addMultipleTickets(10, 1), mode + " must free the capacity of a sold order");
+        }
+    }
+
+    @Test
+    void seatedBulkPurchaseIsNotLimitedToOneRow() {
+        TicketPool pool = TicketPoolMode.SEATED.create(300, 300, 1000, 1000, mock(TicketPoolListener.class), 1, 300,
+                new SeatMap.Layout(1, 3, 100));
+        assertTrue(pool.buyTickets(new int[]{1, 2}, new int[]{150, 120}), "Orders may span several rows");
+        assertEquals(30, pool.getAvailableTickets());
+        assertFalse(pool.buyTickets(new int[]{3}, new int[]{31}));
+        assertEquals(30, pool.getAvailableTickets());
+    }
+
+    @Test
+    void participantLimitsRefuseWithoutTouchingInventory() {
+        ParticipantLimiter.Policy policy = new ParticipantLimiter.Policy(2, 0, 1, 3, 64, 60_000);
+        for (TicketPoolMode mode : TicketPoolMode.values()) {
+            TicketPool pool = newPool(mode, 10, 10);
+            pool.setLimiter(ParticipantLimiter.of(policy));
+            assertTrue(pool.buyTicket(1));
+            assertTrue(pool.holdTicket(1));
+            assertFalse(pool.buyTicket(1), mode + " must stop a customer at its cap");
+            assertEquals(HoldOutcome.CAPPED, pool.tryHoldTicket(1));
+            assertFalse(pool.buyTickets(new int[]{2, 1}, new int[]{1, 1}), mode + " must refuse the whole order");
+            assertEquals(8, pool.getAvailableTickets());
+
+            pool.releaseHold(1);
+            assertTrue(pool.buyTicket(1), mode + " must give back the charge of a released hold");
+            assertTrue(pool.buyTickets(new int[]{2, 3}, new int[]{2, 2}));
+            assertEquals(4, pool.getAvailableTickets());
+
+            assertTrue(pool.addMultipleTickets(5, 1));
+            assertEquals(7, pool.getAvailableTickets(), mode + " must trim a release to the vendor's cap");
+            assertFalse(pool.addTicket(1));
+            assertTrue(pool.addTicket(2));
+        }
+    }
+
+    @Test
+    void heldTicketsKeepCapacityUntilReleasedOrConfirmed() {
+        for (TicketPoolMode mode : TicketPoolMode.values()) {
+            TicketPool pool = newPool(mode, 4, 4);
+            assertTrue(pool.holdTicket(1));
+            assertTrue(pool.holdTicket(2));
+            assertEquals(2, pool.getAvailableTickets());
+            assertEquals(2, pool.getHeldTickets());
+            assertFalse(pool.addTicket(1), mode + " must count held tickets against capacity");
+
+            pool.releaseHold(1);
+            assertEquals(3, pool.getAvailableTickets());
+            pool.confirmHold(2);
+            assertEquals(0, pool.getHeldTickets());
+            assertTrue(pool.addTicket(1));
+            assertEquals(4, pool.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void reconfigurationKeepsInventoryAndAppliesNewCapacity() {
+        for (TicketPoolMode mode : TicketPoolMode.values()) {
+            TicketPool pool = newPool(mode, 10, 5);
+            pool.reconfigure(3, 2000, 3000);
+            assertEquals(5, pool.getAvailableTickets(), mode + " must keep tickets above a lowered capacity");
+            assertEquals(3, pool.getMaxCapacity());
+            assertEquals(2000, pool.getTicketReleaseRate());
+            assertEquals(3000, pool.getCustomerRetrievalRate());
+            assertFalse(pool.addTicket(1));
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue(pool.buyTicket(1));
+            }
+            assertTrue(pool.addMultipleTickets(5, 1));
+            assertEquals(3, pool.getAvailableTickets(), mode + " must fill up to the new capacity only");
+
+            pool.reconfigure(8, 2000, 3000);
+            assertTrue(pool.addMultipleTickets(10, 1));
+            assertEquals(8, pool.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void concurrentBuysAndAddsConserveTickets() throws InterruptedException {
+        for (TicketPoolMode mode : TicketPoolMode.values()) {
+            TicketPool pool = newPool(mode, 1000, 100);
+            AtomicInteger bought = new AtomicInteger();
+            AtomicInteger added = new AtomicInteger();
+            int threads = 8;
+            int operations = 10_000;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch startGate = new CountDownLatch(1);
+
+            for (int t = 0; t < threads; t++) {
+                final boolean buyer = t % 2 == 0;
+                executor.submit(() -> {
+                    startGate.await();
+                    for (int i = 0; i < operations; i++) {
+                        if (buyer ? pool.buyTicket(1) : pool.addTicket(1)) {
+                            (buyer ? bought : added).incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            startGate.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            int available = pool.getAvailableTickets();
+            assertTrue(available >= 0 && available <= 100, mode + " left the capacity bounds");
+            assertEquals(100 + added.get() - bought.get(), available, mode + " lost or duplicated tickets");
+        }
+    }
+
+    @Test
+    void stripedPoolKeepsHeldTicketsWithinCapacityUnderConcurrency() throws InterruptedException {
+        AtomicInteger added = new AtomicInteger();
+        StripedTicketPool pool = new StripedTicketPool(64, 64, 1000, 1000, new TicketPoolListener() {
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                added.addAndGet(ticketsAdded);
+            }
+        }, 4);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        int threads = 6;
+        int operations = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        executor.submit(() -> {
+            startGate.await();
+            while (done.getCount() > 0) {
+                if (!pool.isWithinShares()) {
+                    violations.incrementAndGet(); // Some stripe held more than its share
+                }
+            }
+            return null;
+        });
+        for (int t = 0; t < threads; t++) {
+            final int role = t % 3;
+            executor.submit(() -> {
+                startGate.await();
+                for (int i = 0; i < operations; i++) {
+                    if (role == 0) {
+                        pool.addMultipleTickets(3, 1);
+                    } else if (role == 1 && pool.holdTicket(2)) {
+                        if (i % 2 == 0) {
+                            pool.releaseHold(2);
+                        } else {
+                            pool.confirmHold(2);
+                            sold.incrementAndGet();
+                        }
+                    } else if (role == 2 && pool.buyTickets(new int[]{3, 4}, new int[]{2, 1})) {
+                        sold.addAndGet(3);
+                    }
+                }
+                done.countDown();
+                return null;
+            });
+        }
+        startGate.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(0, violations.get(), "available plus held exceeded a stripe's share");
+        assertTrue(pool.isWithinShares());
+        assertEquals(0, pool.getHeldTickets());
+        assertEquals(64 + added.get() - sold.get(), pool.getAvailableTickets(), "lost or duplicated tickets");
+        assertTrue(sold.get() > 0);
+    }
+}
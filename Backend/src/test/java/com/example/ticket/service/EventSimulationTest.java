@@ -0,0 +1,52 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.ParticipantLimiter;
+import com.example.ticket.model.SeatMap;
+import com.example.ticket.model.SimulationSettings;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.model.TicketPoolMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSimulationTest {
+
+    @Test
+    void restartsReuseParticipantThreadsAndCloseReleasesThem() throws InterruptedException {
+        LogService logService = new LogService(null, null, 1024, LogOverflowPolicy.DROP, 1, 64, 10, 100, 0, false);
+        LoadGenerator.Profile profile = new LoadGenerator.Profile(ArrivalDistribution.CONSTANT, 1, 1, 5000, 5000, 1000);
+        EventSimulation simulation = new EventSimulation("restart-test", TicketPoolMode.ATOMIC, 0, SeatMap.Layout.DEFAULT,
+                ExecutionMode.PLATFORM, new TicketPoolListener() {
+        }, logService, false, 100, AdmissionOrder.FIFO, profile,
+                new ParticipantLimiter.Policy(0, 0, 1, 0, 64, 60_000), 2000, 60_000);
+        SimulationSettings settings = new SimulationSettings(10_000, 1000, 1000, 1000, 10, 20);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(simulation.start(settings));
+            Thread.sleep(10);
+            simulation.stop();
+            assertFalse(simulation.isRunning());
+        }
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(20), "Stops must not wait for the timeout");
+        assertTrue(participantThreads() <= 30, "Restarts must reuse the threads of earlier runs");
+
+        simulation.close(System.nanoTime());
+        assertFalse(simulation.start(settings), "A closed simulation cannot be restarted");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (participantThreads() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, participantThreads(), "Closing must release every participant thread");
+    }
+
+    private static long participantThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.isAlive() && thread.getName().startsWith("participant-"))
+                .count();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.model.TicketPoolMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadGeneratorTest {
+
+    @Test
+    void sameSeedProducesTheSameArrivals() throws InterruptedException {
+        List<Integer> first = vendorArrivals(7);
+        List<Integer> second = vendorArrivals(7);
+        List<Integer> other = vendorArrivals(8);
+        int common = Math.min(first.size(), second.size());
+        assertTrue(common >= 50, "only " + common + " arrivals");
+        assertEquals(first.subList(0, common), second.subList(0, common));
+        assertNotEquals(first.subList(0, 50), other.subList(0, 50));
+    }
+
+    @Test
+    void awaitIdleWaitsForRunningOperationsUntilTheDeadline() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TicketPool pool = TicketPoolMode.ATOMIC.create(0, 1_000_000, 1000, 1000, new TicketPoolListener() {
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        pool.start();
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        LoadGenerator.Profile profile = new LoadGenerator.Profile(ArrivalDistribution.CONSTANT, 1, 1, 1000, 0, 1000);
+        LoadGenerator generator = new LoadGenerator("load-test", pool, null, executor, profile, 1, 1);
+        generator.start();
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        generator.stop();
+
+        assertTrue(generator.awaitIdle(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50)) > 0,
+                "The blocked operation is still running");
+        release.countDown();
+        assertEquals(0, generator.awaitIdle(System.nanoTime() + TimeUnit.SECONDS.toNanos(5)),
+                "Operations queued behind the stop are skipped");
+        executor.shutdown();
+    }
+
+    // Vendor ids in arrival order during a short POISSON run; operations run on the scheduler thread, in order
+    private static List<Integer> vendorArrivals(long seed) throws InterruptedException {
+        List<Integer> vendorIds = Collections.synchronizedList(new ArrayList<>());
+        TicketPool pool = TicketPoolMode.ATOMIC.create(0, 1_000_000, 1000, 1000, new TicketPoolListener() {
+            @Override
+            public void onTicketsAdded(TicketPool pool, int vendorId, int ticketsAdded, int available) {
+                vendorIds.add(vendorId);
+            }
+        });
+        pool.start();
+        LoadGenerator.Profile profile = new LoadGenerator.Profile(ArrivalDistribution.POISSON, seed, 1, 2000, 0, 1000);
+        LoadGenerator generator = new LoadGenerator("load-test", pool, null, Runnable::run, profile, 100, 100);
+        generator.start();
+        Thread.sleep(200);
+        LoadGenerator.Report report = generator.stop();
+
+        assertEquals(vendorIds.size(), report.vendors().succeeded());
+        assertEquals(0, report.customers().completed());
+        assertTrue(report.vendors().achievedOpsPerSecond() > 0);
+        return new ArrayList<>(vendorIds);
+    }
+}
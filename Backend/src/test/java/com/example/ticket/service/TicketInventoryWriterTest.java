@@ -0,0 +1,85 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.Ticket;
+import com.example.ticket.model.TicketPoolListener;
+import com.example.ticket.repo.TicketRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TicketInventoryWriterTest {
+
+    @Test
+    void dropsChangesInsteadOfBlockingPoolThreads() {
+        // The writer thread is never started, so the queue only fills up
+        TicketInventoryWriter writer = new TicketInventoryWriter(null, null, null, true, 2, 10, 10, 20, 0);
+        TicketPoolListener listener = writer.forEvent("event");
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            listener.onTicketBought(null, i, 0);
+        }
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1), "A full queue must not block for long");
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(2, writer.getDroppedCount());
+
+        writer.shutdown();
+        listener.onTicketBought(null, 4, 0);
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(3, writer.getDroppedCount());
+    }
+
+    @Test
+    void purchaseReturnsTheIdsOfTheRowsItSold() {
+        TicketRepo ticketRepo = mock(TicketRepo.class);
+        AtomicLong nextId = new AtomicLong(1);
+        when(ticketRepo.saveAll(any())).thenAnswer(call -> {
+            Iterable<Ticket> tickets = call.getArgument(0);
+            tickets.forEach(ticket -> ticket.setId(nextId.getAndIncrement())); // Like the ticket_seq sequence
+            return List.of();
+        });
+        TicketInventoryWriter writer = new TicketInventoryWriter(ticketRepo, mock(PlatformTransactionManager.class),
+                mock(LogService.class), true, 64, 10, 1000, 5, 5000);
+        writer.start();
+        try {
+            TicketPoolListener listener = writer.forEvent("event");
+            listener.onTicketsAdded(null, 1, 5, 5);
+
+            List<List<Long>> sold = writer.recordPurchase(() -> {
+                listener.onTicketsBought(null, 7, 2, 3);
+                listener.onTicketsBought(null, 8, 1, 2);
+                return true;
+            });
+            assertEquals(List.of(List.of(1L, 2L), List.of(3L)), sold);
+            assertNull(writer.recordPurchase(() -> false), "A refused purchase sold nothing");
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void purchaseDoesNotWaitForDroppedSales() {
+        TicketInventoryWriter writer = new TicketInventoryWriter(null, null, null, true, 1, 10, 10, 0, 5000);
+        TicketPoolListener listener = writer.forEvent("event");
+        writer.shutdown();
+
+        long started = System.nanoTime();
+        List<List<Long>> sold = writer.recordPurchase(() -> {
+            listener.onTicketsBought(null, 7, 2, 0);
+            return true;
+        });
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1), "A dropped sale has no rows to await");
+        assertEquals(1, sold.size());
+        assertNull(sold.get(0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.SimulationSettings;
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolMode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketJournalTest {
+
+    @Test
+    void recoversAvailabilityAcrossSnapshotsAndSegments() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        SimulationSettings settings = new SimulationSettings(10, 1000, 1000, 50, 1, 1);
+        try {
+            // snapshot-records=4 makes the journal rotate several times during the run
+            TicketJournal journal = open(directory);
+            journal.recordRegistered("concert", settings);
+            journal.recordRegistered("gone", settings);
+            journal.recordUnregistered("gone");
+            TicketPool pool = TicketPoolMode.ATOMIC.create(10, 50, 1000, 1000, journal.forEvent("concert"));
+            pool.start();
+            pool.addMultipleTickets(5, 1);
+            for (int i = 0; i < 4; i++) {
+                assertTrue(pool.buyTicket(i));
+            }
+            assertTrue(pool.holdTicket(7));
+            assertTrue(pool.holdTicket(8));
+            pool.confirmHold(7);
+            assertTrue(pool.buyTickets(new int[]{1, 2}, new int[]{2, 1}));
+            journal.shutdown();
+            assertEquals(6, pool.getAvailableTickets());
+            assertTrue(pool.buyTicket(9));
+            assertEquals(1, journal.getDroppedCount(), "a stopped journal refuses new records");
+
+            // Recovery snapshots what it read, so a second restart sees the same state from the snapshot alone
+            for (int restart = 0; restart < 2; restart++) {
+                TicketJournal reopened = open(directory);
+                reopened.shutdown();
+                Map<String, TicketJournal.RecoveredEvent> recovered = reopened.getRecoveredEvents();
+                assertEquals(1, recovered.size());
+                TicketJournal.RecoveredEvent concert = recovered.get("concert");
+                assertEquals(settings, concert.settings());
+                assertEquals(7, concert.available(), "the unconfirmed hold is available again");
+                assertTrue(concert.running());
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        assertFalse(Files.exists(directory));
+    }
+
+    private static TicketJournal open(Path directory) {
+        LogService logService = new LogService(null, null, 1024, LogOverflowPolicy.DROP, 1, 64, 10, 100, 0, false);
+        return new TicketJournal(logService, true, directory.toString(), 1, JournalFsyncPolicy.BATCH, 0, 4, 16, 4, 5);
+    }
+}
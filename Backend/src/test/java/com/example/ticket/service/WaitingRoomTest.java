@@ -0,0 +1,49 @@
+package com.example.ticket.service;
+
+import com.example.ticket.model.TicketPool;
+import com.example.ticket.model.TicketPoolMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaitingRoomTest {
+
+    @Test
+    void admitsInPriorityThenArrivalOrderAsTicketsAreReleased() {
+        WaitingRoom room = new WaitingRoom(10, AdmissionOrder.PRIORITY);
+        TicketPool pool = TicketPoolMode.ATOMIC.create(0, 10, 1000, 1000, room);
+        pool.start();
+
+        CompletableFuture<Boolean> late = room.join(1, 5, 0);
+        CompletableFuture<Boolean> first = room.join(2, 0, 0);
+        CompletableFuture<Boolean> second = room.join(3, 0, 0);
+        assertFalse(first.isDone() || second.isDone() || late.isDone());
+
+        pool.addTicket(1);
+        assertTrue(first.join());
+        assertFalse(second.isDone());
+
+        pool.addMultipleTickets(2, 1);
+        assertTrue(second.join());
+        assertTrue(late.join());
+        assertEquals(0, room.size());
+        assertEquals(0, pool.getAvailableTickets());
+    }
+
+    @Test
+    void rejectsWhenFullAndDismissesOnStop() {
+        WaitingRoom room = new WaitingRoom(1, AdmissionOrder.FIFO);
+        TicketPool pool = TicketPoolMode.ATOMIC.create(0, 10, 1000, 1000, room);
+        pool.start();
+
+        CompletableFuture<Boolean> waiting = room.join(1, 0, 0);
+        assertFalse(room.join(2, 0, 0).join(), "A full waiting room must reject new customers");
+
+        pool.stop();
+        assertFalse(waiting.join());
+    }
+}
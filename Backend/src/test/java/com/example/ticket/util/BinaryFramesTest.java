@@ -0,0 +1,41 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BinaryFramesTest {
+
+    @Test
+    void availabilityFrameHasFixedOffsets() {
+        ByteBuffer frame = ByteBuffer.wrap(BinaryFrames.availability("concert", 42, 100_000, 4_321));
+        assertEquals(19 + 7, frame.remaining());
+        assertEquals(BinaryFrames.AVAILABILITY, frame.get(0));
+        assertEquals(BinaryFrames.VERSION, frame.get(1));
+        assertEquals(42, frame.getLong(2));
+        assertEquals(100_000, frame.getInt(10));
+        assertEquals(4_321, frame.getInt(14));
+        assertEquals(7, frame.get(18));
+        assertEquals("concert", new String(frame.array(), 19, 7, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void logBatchFrameCarriesEveryEntry() {
+        ByteBuffer frame = ByteBuffer.wrap(BinaryFrames.logBatch(7, List.of("first", "zweite ü")));
+        assertEquals(BinaryFrames.LOG_BATCH, frame.get());
+        assertEquals(BinaryFrames.VERSION, frame.get());
+        assertEquals(7, frame.getLong());
+        assertEquals(2, frame.getInt());
+        for (String expected : List.of("first", "zweite ü")) {
+            byte[] entry = new byte[frame.getInt()];
+            frame.get(entry);
+            assertEquals(expected, new String(entry, StandardCharsets.UTF_8));
+        }
+        assertFalse(frame.hasRemaining());
+    }
+}
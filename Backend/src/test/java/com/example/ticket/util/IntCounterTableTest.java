@@ -0,0 +1,84 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntCounterTableTest {
+
+    @Test
+    void countsPerIdAndCounter() {
+        IntCounterTable table = new IntCounterTable(2);
+        table.add(7, 0, 3);
+        table.add(7, 1, 1);
+        table.add(5000, 0, 2); // Second page
+        table.add(-1, 0, 4);
+        table.add(Integer.MAX_VALUE, 0, 1);
+
+        assertEquals(3, table.get(7, 0));
+        assertEquals(1, table.get(7, 1));
+        assertEquals(2, table.get(5000, 0));
+        assertEquals(0, table.get(8, 0), "Unknown ids read as zero");
+        assertEquals(4, table.get(-1, 0));
+        assertEquals(1, table.get(Integer.MAX_VALUE, 0));
+        assertEquals(0, table.get(-5, 0), "Ids out of range are counted separately");
+        assertEquals(4, table.countIds());
+        assertArrayEquals(new int[]{-1, 7, 5000}, table.top(0, 3));
+    }
+
+    @Test
+    void outOfRangeIdsBeyondTheHashedTableAreOnlyCountedAsUntracked() {
+        IntCounterTable table = new IntCounterTable(1);
+        int tracked = 0;
+        for (int i = 1; i <= 20_000; i++) {
+            table.add(-i, 0, i);
+        }
+        for (int i = 1; i <= 20_000; i++) {
+            long value = table.get(-i, 0);
+            assertTrue(value == i || value == 0, "An id must never report another id's counts");
+            if (value == i) {
+                tracked++;
+            }
+        }
+        assertEquals(tracked, table.countIds());
+        assertEquals(20_000 - tracked, table.getUntrackedCount());
+        assertTrue(tracked > 10_000);
+    }
+
+    @Test
+    void topRanksByOneCounter() {
+        IntCounterTable table = new IntCounterTable(2);
+        for (int id = 1; id <= 100; id++) {
+            table.add(id, 0, id % 10);
+            table.add(id, 1, 100 - id);
+        }
+        assertArrayEquals(new int[]{9, 19, 29}, table.top(0, 3), "Ties go to the lower id");
+        assertArrayEquals(new int[]{1, 2}, table.top(1, 2));
+        assertEquals(0, table.top(0, 0).length);
+    }
+
+    @Test
+    void concurrentUpdatesAreNotLost() throws InterruptedException {
+        IntCounterTable table = new IntCounterTable(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    table.add(i % 10_000, 0, 1); // Several threads allocate the same pages at once
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        for (int id = 0; id < 10_000; id++) {
+            assertEquals(80, table.get(id, 0));
+        }
+        assertEquals(10_000, table.countIds());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesAreWithinOneBucketOfTheExactValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000, histogram.max());
+        for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+            long exact = (long) Math.ceil(quantile * 100_000);
+            long reported = histogram.percentile(quantile);
+            assertTrue(reported >= exact && reported <= exact * 1.125, quantile + ": " + reported);
+        }
+        assertEquals(100_000, histogram.percentile(1.0));
+        assertEquals(0, new LatencyHistogram().percentile(0.5));
+    }
+}
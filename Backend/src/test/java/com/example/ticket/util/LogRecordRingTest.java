@@ -0,0 +1,68 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRecordRingTest {
+
+    @Test
+    void drainsRecordsInOrderAndRejectsWhenFull() {
+        LogRecordRing ring = new LogRecordRing(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(1, "p" + i, i, i * 10, i * 100, 1000L + i));
+        }
+        assertFalse(ring.offer(1, "full", 0, 0, 0, 0));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, ring.drain((type, text, actor, count, available, timestampMillis) ->
+                drained.add(type + " " + text + " " + actor + " " + count + " " + available + " " + timestampMillis), 2));
+        assertEquals(List.of("1 p0 0 0 0 1000", "1 p1 1 10 100 1001"), drained);
+        assertTrue(ring.offer(2, null, 7, 0, 0, 0));
+        assertEquals(3, ring.size());
+    }
+
+    @Test
+    void keepsEveryRecordIntactUnderContention() throws InterruptedException {
+        LogRecordRing ring = new LogRecordRing(256);
+        int producers = 4;
+        int perProducer = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            final String text = "producer " + p;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(producer, text, producer, i, -i, i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+
+        int[] next = new int[producers];
+        long[] received = new long[1];
+        LogRecordRing.Sink check = (type, text, actor, count, available, timestampMillis) -> {
+            assertEquals(type, actor);
+            assertEquals("producer " + actor, text);
+            assertEquals(next[actor]++, count, "out of order for producer " + actor);
+            assertEquals(-count, available);
+            assertEquals(count, timestampMillis);
+            received[0]++;
+        };
+        while (received[0] < (long) producers * perProducer) {
+            ring.drain(check, 64);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, ring.drain(check, 64));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogRingBufferTest {
+
+    @Test
+    void pagesWithCursorAndRetainsByCount() {
+        LogRingBuffer buffer = new LogRingBuffer(5, 0);
+        for (int i = 1; i <= 8; i++) {
+            buffer.append("entry " + i);
+        }
+
+        LogRingBuffer.Page first = buffer.read(0, 3);
+        assertEquals(4, first.oldestSequence());
+        assertEquals(3, first.entries().size());
+        assertEquals("entry 4", first.entries().get(0).text());
+
+        LogRingBuffer.Page second = buffer.read(first.nextSince(), 10);
+        assertEquals(2, second.entries().size());
+        assertEquals(8, second.entries().get(1).sequence());
+        assertEquals(0, buffer.read(second.nextSince(), 10).entries().size());
+    }
+
+    @Test
+    void retainsByTotalSize() {
+        LogRingBuffer buffer = new LogRingBuffer(100, 10);
+        buffer.append("aaaa");
+        buffer.append("bbbb");
+        buffer.append("cccc");
+
+        LogRingBuffer.Page page = buffer.read(0, 100);
+        assertEquals(2, page.entries().size());
+        assertEquals("bbbb", page.entries().get(0).text());
+    }
+
+    @Test
+    void measuresSizeInUtf8Bytes() {
+        assertEquals(1 + 2 + 3 + 4, LogRingBuffer.utf8Length("a\u00e9\u20ac\ud83c\udfab"));
+
+        LogRingBuffer buffer = new LogRingBuffer(100, 10);
+        buffer.append("\u20ac\u20ac"); // 6 bytes in 2 chars
+        buffer.append("\u20ac\u20ac");
+
+        LogRingBuffer.Page page = buffer.read(0, 100);
+        assertEquals(1, page.entries().size());
+        assertEquals(2, page.entries().get(0).sequence());
+    }
+
+    @Test
+    void restartsFromOldestWhenCursorIsAhead() {
+        LogRingBuffer buffer = new LogRingBuffer(10, 0);
+        buffer.append("only");
+        assertEquals(1, buffer.read(42, 10).entries().size());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedSegmentTest {
+
+    @Test
+    void readsRecordsBackAndStopsAtATornTail() throws IOException {
+        Path path = Files.createTempFile("segment", ".log");
+        try {
+            try (MappedSegment segment = MappedSegment.create(path, 64)) {
+                assertTrue(segment.append(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+                assertTrue(segment.append(ByteBuffer.wrap(new byte[]{4, 5})));
+                assertTrue(segment.append(ByteBuffer.wrap(new byte[]{6})));
+                assertFalse(segment.append(ByteBuffer.wrap(new byte[40])), "no room left");
+            }
+            assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5), List.of(6)), read(path));
+
+            // Corrupt the last record's body, as if the process died while it was being written
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{9}), 8 + 3 + 8 + 2 + 8);
+            }
+            assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5)), read(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static List<List<Integer>> read(Path path) throws IOException {
+        List<List<Integer>> records = new ArrayList<>();
+        MappedSegment.read(path, body -> {
+            List<Integer> bytes = new ArrayList<>();
+            while (body.hasRemaining()) {
+                bytes.add((int) body.get());
+            }
+            records.add(bytes);
+        });
+        return records;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MpscBoundedQueueTest {
+
+    @Test
+    void rejectsOffersWhenFull() {
+        MpscBoundedQueue<Integer> queue = new MpscBoundedQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.offer(4));
+        assertEquals(4, queue.size());
+    }
+
+    @Test
+    void keepsPerProducerOrderUnderContention() throws InterruptedException {
+        MpscBoundedQueue<Long> queue = new MpscBoundedQueue<>(256);
+        int producers = 4;
+        int perProducer = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            final long base = (long) p << 32;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+
+        long[] last = new long[producers];
+        Arrays.fill(last, -1);
+        long received = 0;
+        while (received < (long) producers * perProducer) {
+            Long value = queue.poll();
+            if (value == null) {
+                continue;
+            }
+            int producer = (int) (value >>> 32);
+            long index = value & 0xffffffffL;
+            assertEquals(last[producer] + 1, index, "out of order for producer " + producer);
+            last[producer] = index;
+            received++;
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertNull(queue.poll());
+    }
+}
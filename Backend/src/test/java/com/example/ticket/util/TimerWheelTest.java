@@ -0,0 +1,48 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    @Test
+    void expiresEachTimeoutAtItsTickAcrossLevels() {
+        TimerWheel<Long> wheel = new TimerWheel<>(10, 0);
+        long[] deadlines = {5, 10, 630, 640, 650, 41_000, 2_621_440, 200_000_000L};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 250_000_000L && expired.size() < deadlines.length; now += 10) {
+            int before = expired.size();
+            wheel.advance(now, expired::add);
+            for (int i = before; i < expired.size(); i++) {
+                long deadline = expired.get(i);
+                assertTrue(now >= deadline && now - deadline < 10, deadline + " expired at " + now);
+            }
+        }
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelledTimeoutsNeverExpire() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 0);
+        TimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 100);
+        wheel.schedule("kept", 100);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(1_000, expired::add);
+        assertEquals(List.of("kept"), expired);
+    }
+}
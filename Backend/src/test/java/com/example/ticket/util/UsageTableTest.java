@@ -0,0 +1,77 @@
+package com.example.ticket.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsageTableTest {
+
+    @Test
+    void capIsEnforcedPerIdAndRefundsGiveRoomBack() {
+        UsageTable table = new UsageTable(64, 4, 0, 1, 60_000);
+        long now = System.currentTimeMillis();
+        assertEquals(3, table.charge(1, 3, now));
+        assertEquals(UsageTable.CAPPED, table.charge(1, 2, now), "A charge is all or nothing");
+        assertEquals(4, table.charge(2, 4, now), "Every id has its own count");
+        table.refund(1, 2);
+        assertEquals(2, table.charge(1, 2, now));
+        assertEquals(1, table.chargeUpTo(1, 5, now), "Trimmed to what the cap still allows");
+        assertEquals(UsageTable.CAPPED, table.chargeUpTo(1, 5, now));
+    }
+
+    @Test
+    void tokenBucketAllowsTheBurstThenRefillsAtTheRate() {
+        UsageTable table = new UsageTable(64, 0, 100, 5, 60_000); // One token every 10 ms
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, table.charge(7, 1, now));
+        }
+        assertEquals(UsageTable.RATE_LIMITED, table.charge(7, 1, now));
+        assertEquals(UsageTable.RATE_LIMITED, table.charge(7, 1, now + 5), "Half a token is not enough");
+        assertEquals(1, table.charge(7, 1, now + 10));
+        assertEquals(UsageTable.RATE_LIMITED, table.charge(7, 1, now + 10));
+        assertEquals(1, table.charge(8, 1, now), "Other ids keep their own bucket");
+    }
+
+    @Test
+    void idleIdsAreForgottenAndTheirSlotsReused() {
+        UsageTable table = new UsageTable(4, 1, 0, 1, 1_000); // A single set of four slots
+        long now = System.currentTimeMillis();
+        for (int id = 0; id < 4; id++) {
+            assertEquals(1, table.charge(id, 1, now));
+        }
+        assertEquals(1, table.charge(99, 1, now), "A full set admits new ids untracked");
+        assertEquals(1, table.getUntrackedCount());
+        assertEquals(UsageTable.CAPPED, table.charge(0, 1, now + 500));
+
+        assertEquals(1, table.charge(99, 1, now + 2_000), "Expired slots are taken over");
+        assertEquals(UsageTable.CAPPED, table.charge(99, 1, now + 2_000));
+        assertEquals(1, table.getUntrackedCount());
+    }
+
+    @Test
+    void concurrentChargesNeverExceedTheCap() throws Exception {
+        UsageTable table = new UsageTable(1024, 1_000, 0, 1, 60_000);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    int result = table.charge(42, 1, System.currentTimeMillis());
+                    if (result > 0) {
+                        granted.addAndGet(result);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(1_000, granted.get());
+    }
+}
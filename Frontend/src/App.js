@@ -10,19 +10,14 @@ const App = () => {
     const [systemStatus, setSystemStatus] = useState("stopped"); // Tracks whether the system is running or stopped
 
     useEffect(() => {
-        const fetchSystemStatus = () => {
-            fetch("http://localhost:8080/api/ticket/status")
-                .then((response) => response.text())
-                .then((data) => {
-                    const status = data.includes("running") ? "running" : "stopped"; // Determine system status
-                    setSystemStatus(status);
-                })
-                .catch((error) => console.error("Error fetching system status:", error));
-        };
-
-        fetchSystemStatus(); // Initial fetch on mount
-        const interval = setInterval(fetchSystemStatus, 2000); // Poll system status every 2 seconds
-        return () => clearInterval(interval); // Clear polling on unmount
+        // Status is pushed over Server-Sent Events; the current state arrives as soon as the stream opens
+        const source = new EventSource("http://localhost:8080/api/stream?logs=false");
+        source.addEventListener("status", (event) => {
+            const { running } = JSON.parse(event.data);
+            setSystemStatus(running ? "running" : "stopped");
+        });
+        source.onerror = (error) => console.error("Status stream error:", error); // EventSource reconnects by itself
+        return () => source.close(); // Close the stream on unmount
     }, []);
 
     // Handles saving the system configuration
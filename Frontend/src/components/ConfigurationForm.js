@@ -6,6 +6,8 @@ const ConfigurationForm = ({ onConfigurationSaved }) => {
         ticketReleaseRate: "",
         customerRetrievalRate: "",
         maxTicketCapacity: "",
+        numberOfVendors: "",
+        numberOfCustomers: "",
     });
     const [errorMessage, setErrorMessage] = useState(""); // To display validation errors
     const [isSubmitting, setIsSubmitting] = useState(false); // Prevent multiple form submissions
@@ -55,7 +57,11 @@ const ConfigurationForm = ({ onConfigurationSaved }) => {
         }
 
         setErrorMessage(""); // Clear errors
-        onConfigurationSaved(config); // Call callback with the validated configuration
+        // Participant counts are optional; the backend falls back to its defaults when they are omitted
+        const payload = { ...config };
+        if (!payload.numberOfVendors) delete payload.numberOfVendors;
+        if (!payload.numberOfCustomers) delete payload.numberOfCustomers;
+        onConfigurationSaved(payload); // Call callback with the validated configuration
         setIsSubmitting(false);
     };
 
@@ -109,6 +115,30 @@ const ConfigurationForm = ({ onConfigurationSaved }) => {
                         placeholder="Enter max ticket capacity"
                     />
                 </div>
+
+                {/* Number of Vendors Field (optional) */}
+                <div className="form-group">
+                    <label>Number of Vendors</label>
+                    <input
+                        type="text"
+                        name="numberOfVendors"
+                        value={config.numberOfVendors}
+                        onChange={handleInputChange}
+                        placeholder="Default: 500"
+                    />
+                </div>
+
+                {/* Number of Customers Field (optional) */}
+                <div className="form-group">
+                    <label>Number of Customers</label>
+                    <input
+                        type="text"
+                        name="numberOfCustomers"
+                        value={config.numberOfCustomers}
+                        onChange={handleInputChange}
+                        placeholder="Default: 500"
+                    />
+                </div>
             </div>
 
             {/* Error Message Display */}
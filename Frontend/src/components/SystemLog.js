@@ -2,11 +2,28 @@ import React, { useEffect, useState, useRef } from "react";
 import { Client } from "@stomp/stompjs";
 import SockJS from "sockjs-client";
 
+const MAX_VISIBLE_LOGS = 1000; // Oldest lines are dropped from the view beyond this
+
 const SystemLog = () => {
-    const [logs, setLogs] = useState([]); // State to store logs
-    const logSet = useRef(new Set()); // Tracks unique logs to prevent duplicates
+    const [logs, setLogs] = useState([]); // State to store logs as { sequence, text }
+    const lastSequence = useRef(0); // Sequence of the newest log shown, used to detect gaps
 
     useEffect(() => {
+        // Appends entries newer than the last one shown, in sequence order
+        const appendEntries = (entries) => {
+            const fresh = entries.filter((entry) => entry.sequence > lastSequence.current);
+            if (fresh.length === 0) return;
+            lastSequence.current = fresh[fresh.length - 1].sequence;
+            setLogs((prevLogs) => [...prevLogs, ...fresh].slice(-MAX_VISIBLE_LOGS)); // Update state
+        };
+
+        // Fetches every retained entry after the last one shown
+        const backfill = () =>
+            fetch(`http://localhost:8080/api/ticket/logs?since=${lastSequence.current}&limit=${MAX_VISIBLE_LOGS}`)
+                .then((response) => response.json())
+                .then((page) => appendEntries(page.entries))
+                .catch((error) => console.error("Error fetching logs:", error));
+
         // Initialize WebSocket connection
         const socket = new SockJS("http://localhost:8080/websocket");
         const stompClient = new Client({
@@ -14,15 +31,16 @@ const SystemLog = () => {
             debug: console.log, // Log WebSocket activity for debugging
             onConnect: () => {
                 console.log("WebSocket connected!");
-                // Subscribe to log updates
-                stompClient.subscribe("/topic/logs", (message) => {
-                    if (message.body) {
-                        const newLog = message.body.trim();
-                        if (!logSet.current.has(newLog)) {
-                            logSet.current.add(newLog); // Add log to Set
-                            setLogs((prevLogs) => [...prevLogs, newLog]); // Update state
+                // Load the existing backlog first, then follow batched log frames
+                backfill().finally(() => {
+                    stompClient.subscribe("/topic/logBatches", (message) => {
+                        const batch = JSON.parse(message.body);
+                        if (batch.firstSequence > lastSequence.current + 1) {
+                            backfill(); // Missed one or more frames; the server still has them
+                            return;
                         }
-                    }
+                        appendEntries(batch.entries.map((text, i) => ({ sequence: batch.firstSequence + i, text })));
+                    });
                 });
             },
         });
@@ -58,16 +76,16 @@ const SystemLog = () => {
                 System Log
             </h3>
             {logs.length > 0 ? (
-                logs.map((log, index) => (
+                logs.map((log) => (
                     <div
-                        key={index} // Key required for React list rendering
+                        key={log.sequence} // Sequence numbers are unique and stable
                         style={{
                             borderBottom: "1px solid #c4a484",
                             padding: "10px 5px",
                             marginBottom: "5px",
                         }}
                     >
-                        {log}
+                        {log.text}
                     </div>
                 ))
             ) : (
@@ -14,16 +14,11 @@ const TicketAvailability = () => {
             debug: console.log,
             onConnect: () => {
                 // Subscribe to ticket availability updates
+                // The server coalesces changes, so every message carries the latest state
                 stompClient.subscribe("/topic/ticketAvailability", (message) => {
                     const ticketData = JSON.parse(message.body);
-                    // Update state only if ticket data has changed
-                    if (
-                        ticketData.totalTickets !== totalTickets ||
-                        ticketData.availableTickets !== availableTickets
-                    ) {
-                        setTotalTickets(ticketData.totalTickets);
-                        setAvailableTickets(ticketData.availableTickets);
-                    }
+                    setTotalTickets(ticketData.totalTickets); // React skips re-rendering when values are unchanged
+                    setAvailableTickets(ticketData.availableTickets);
                 });
             },
         });
@@ -32,7 +27,7 @@ const TicketAvailability = () => {
 
         // Cleanup WebSocket on component unmount
         return () => stompClient.deactivate();
-    }, [totalTickets, availableTickets]); // Dependencies to ensure updates only when these values change
+    }, []); // Connect once; reconnecting on every update would resubscribe for each message
 
     // Calculate percentage of available tickets
     const calculateProgress = () => {